@@ -41,6 +41,9 @@ public final class StrutsConstants {
     /** Whether to reload the XML configuration or not */
     public static final String STRUTS_CONFIGURATION_XML_RELOAD = "struts.configuration.xml.reload";
 
+    /** Milliseconds between two background checks for changed XML configuration, 0 checks on every request */
+    public static final String STRUTS_CONFIGURATION_XML_RELOAD_INTERVAL = "struts.configuration.xml.reload.interval";
+
     /** The URL extension to use to determine if the request is meant for a Struts action */
     public static final String STRUTS_ACTION_EXTENSION = "struts.action.extension";
 
@@ -223,4 +226,22 @@ public final class StrutsConstants {
 
     /** Enables caching of parsed OGNL expressions **/
     public static final String STRUTS_ENABLE_OGNL_EXPRESSION_CACHE = "struts.ognl.enableExpressionCache";
+
+    /** Maximum number of parsed OGNL expressions kept in the cache **/
+    public static final String STRUTS_OGNL_EXPRESSION_CACHE_MAX_SIZE = "struts.ognl.expressionCacheMaxSize";
+
+    /** Compiles the OGNL expressions read often against the same type of object **/
+    public static final String STRUTS_OGNL_COMPILE_EXPRESSIONS = "struts.ognl.compileExpressions";
+
+    /** Number of reads against the same type of object after which an OGNL expression is compiled **/
+    public static final String STRUTS_OGNL_COMPILE_EXPRESSIONS_THRESHOLD = "struts.ognl.compileExpressionsThreshold";
+
+    /** Records the count and duration of the OGNL expression evaluations **/
+    public static final String STRUTS_OGNL_EXPRESSION_METRICS = "struts.ognl.expressionMetrics";
+
+    /** Number of OGNL expression evaluations per timed evaluation **/
+    public static final String STRUTS_OGNL_EXPRESSION_METRICS_SAMPLE_RATE = "struts.ognl.expressionMetrics.sampleRate";
+
+    /** Maximum number of OGNL expressions whose evaluations are recorded **/
+    public static final String STRUTS_OGNL_EXPRESSION_METRICS_MAX_EXPRESSIONS = "struts.ognl.expressionMetrics.maxExpressions";
 }
@@ -234,6 +234,24 @@ public class BeanSelectionProvider implements ConfigurationProvider {
         if (props.containsKey(StrutsConstants.STRUTS_ENABLE_OGNL_EXPRESSION_CACHE))
             props.setProperty("enableOGNLExpressionCache", props.getProperty(StrutsConstants.STRUTS_ENABLE_OGNL_EXPRESSION_CACHE));
 
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_EXPRESSION_CACHE_MAX_SIZE))
+            props.setProperty("ognlExpressionCacheMaxSize", props.getProperty(StrutsConstants.STRUTS_OGNL_EXPRESSION_CACHE_MAX_SIZE));
+
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_COMPILE_EXPRESSIONS))
+            props.setProperty("compileOGNLExpressions", props.getProperty(StrutsConstants.STRUTS_OGNL_COMPILE_EXPRESSIONS));
+
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_COMPILE_EXPRESSIONS_THRESHOLD))
+            props.setProperty("compileOGNLExpressionsThreshold", props.getProperty(StrutsConstants.STRUTS_OGNL_COMPILE_EXPRESSIONS_THRESHOLD));
+
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS))
+            props.setProperty("ognlExpressionMetrics", props.getProperty(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS));
+
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS_SAMPLE_RATE))
+            props.setProperty("ognlExpressionMetricsSampleRate", props.getProperty(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS_SAMPLE_RATE));
+
+        if (props.containsKey(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS_MAX_EXPRESSIONS))
+            props.setProperty("ognlExpressionMetricsMaxExpressions", props.getProperty(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS_MAX_EXPRESSIONS));
+
         String val = props.getProperty(StrutsConstants.STRUTS_ALLOW_STATIC_METHOD_ACCESS);
         if (val != null) {
             props.setProperty("allowStaticMethodAccess", val);
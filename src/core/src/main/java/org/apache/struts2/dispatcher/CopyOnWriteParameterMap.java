@@ -0,0 +1,244 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.dispatcher;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A {@link java.util.Map} wrapping the request parameters without copying them. Reads go straight to the wrapped
+ * map, which is never modified; the parameters are only copied the first time the map is changed, through the map
+ * itself or through its views.
+ */
+public class CopyOnWriteParameterMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = -3317284217431386413L;
+
+    private final Map<String, Object> original;
+    private Map<String, Object> copy;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+
+    /**
+     * Wraps the given parameters, which must not be changed afterwards, like the map returned by
+     * {@link javax.servlet.ServletRequest#getParameterMap()}
+     *
+     * @param parameters the parameters to wrap
+     */
+    public CopyOnWriteParameterMap(Map<String, Object> parameters) {
+        this.original = parameters;
+    }
+
+    /**
+     * Creates another map with the same content which can be changed independently of this one, without copying
+     * the parameters as long as neither map has been changed.
+     *
+     * @return an independent map with the same parameters
+     */
+    public CopyOnWriteParameterMap duplicate() {
+        if (copy == null) {
+            return new CopyOnWriteParameterMap(original);
+        }
+        return new CopyOnWriteParameterMap(new HashMap<String, Object>(copy));
+    }
+
+    /**
+     * @return <tt>true</tt> if the parameters have been copied because this map was changed
+     */
+    public boolean isCopied() {
+        return copy != null;
+    }
+
+    private Map<String, Object> current() {
+        return (copy != null) ? copy : original;
+    }
+
+    private Map<String, Object> writable() {
+        if (copy == null) {
+            copy = new HashMap<String, Object>(original);
+        }
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return current().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return current().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return current().containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return current().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (copy == null && !original.containsKey(key)) {
+            return null;
+        }
+        return writable().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Object> map) {
+        if (!map.isEmpty()) {
+            writable().putAll(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (copy == null) {
+            copy = new HashMap<String, Object>();
+        } else {
+            copy.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+
+    /**
+     * Iterates over the current parameters, changes made through the iterator or the entries are applied to the copy
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return CopyOnWriteParameterMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return current().entrySet().contains(o);
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteParameterMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            if (copy != null) {
+                return copy.entrySet().iterator();
+            }
+
+            final Iterator<Map.Entry<String, Object>> iterator = original.entrySet().iterator();
+            return new Iterator<Map.Entry<String, Object>>() {
+                private Map.Entry<String, Object> last;
+
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                public Map.Entry<String, Object> next() {
+                    last = new WriteThroughEntry(iterator.next());
+                    return last;
+                }
+
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    writable().remove(last.getKey());
+                    last = null;
+                }
+            };
+        }
+    }
+
+    /**
+     * Entry of the original parameters, setting its value copies the parameters
+     */
+    private class WriteThroughEntry implements Map.Entry<String, Object> {
+
+        private final String key;
+        private Object value;
+
+        WriteThroughEntry(Map.Entry<String, Object> entry) {
+            this.key = entry.getKey();
+            this.value = entry.getValue();
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public Object setValue(Object value) {
+            Object oldValue = this.value;
+            writable().put(key, value);
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry entry = (Map.Entry) obj;
+            return ((key == null) ? (entry.getKey() == null) : key.equals(entry.getKey()))
+                    && ((value == null) ? (entry.getValue() == null) : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return ((key == null) ? 0 : key.hashCode()) ^ ((value == null) ? 0 : value.hashCode());
+        }
+    }
+}
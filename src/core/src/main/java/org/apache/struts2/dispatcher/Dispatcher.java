@@ -38,6 +38,7 @@ import com.opensymphony.xwork2.inject.Container;
 import com.opensymphony.xwork2.inject.ContainerBuilder;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.interceptor.Interceptor;
+import com.opensymphony.xwork2.ognl.OgnlExpressionMetrics;
 import com.opensymphony.xwork2.util.FileManager;
 import com.opensymphony.xwork2.util.LocalizedTextUtil;
 import com.opensymphony.xwork2.util.ValueStack;
@@ -102,6 +103,7 @@ public class Dispatcher {
     private String defaultLocale;//StrutsConstants.STRUTS_LOCALE属性设置
     private String multipartSaveDir;//StrutsConstants.STRUTS_MULTIPART_SAVEDIR属性设置
     private String multipartHandlerName;//StrutsConstants.STRUTS_MULTIPART_HANDLER属性设置
+    private static final int CONTEXT_MAP_CAPACITY = 32;//createContextMap()放入的条目不会触发扩容
     private static final String DEFAULT_CONFIGURATION_PATHS = "struts-default.xml,struts-plugin.xml,struts.xml";//struts默认的配置文件
     private boolean paramsWorkaroundEnabled = false;//STRUTS_DISPATCHER_PARAMETERSWORKAROUND属性值设置
 
@@ -109,6 +111,8 @@ public class Dispatcher {
     private ServletContext servletContext;
     private Map<String, String> initParams;//存储web.xml配置filter时设置的属性
     private ValueStackFactory valueStackFactory;
+    private volatile Container metricsContainer;//容器重新加载后，JMX要换成新容器的OgnlExpressionMetrics
+    private OgnlExpressionMetrics registeredMetrics;//已注册到JMX的实例，cleanup()时注销
 
     /**
      * 获得当前线程中的dispatcher实例方法
@@ -228,6 +232,15 @@ public class Dispatcher {
         	interceptor.destroy();
         }
 
+        // unregister the OGNL expression metrics, the MBean server would keep the application loaded
+        synchronized (this) {
+            if (registeredMetrics != null) {
+                registeredMetrics.unregisterMBean();
+                registeredMetrics = null;
+            }
+            metricsContainer = null;
+        }
+
         //cleanup action context
         ActionContext.setContext(null);
 
@@ -367,8 +380,55 @@ public class Dispatcher {
     }
 
     private void init_CheckConfigurationReloading(Container container) {
-        FileManager.setReloadingConfigs("true".equals(container.getInstance(String.class,
-                StrutsConstants.STRUTS_CONFIGURATION_XML_RELOAD)));
+        boolean reloadConfigs = "true".equals(container.getInstance(String.class,
+                StrutsConstants.STRUTS_CONFIGURATION_XML_RELOAD));
+        FileManager.setReloadingConfigs(reloadConfigs);
+
+        String interval = container.getInstance(String.class, StrutsConstants.STRUTS_CONFIGURATION_XML_RELOAD_INTERVAL);
+        if (reloadConfigs && interval != null && interval.trim().length() > 0) {
+            try {
+                long reloadInterval = Long.parseLong(interval.trim());
+                if (reloadInterval > 0) {
+                    configurationManager.startReloadWatcher(reloadInterval);
+                }
+            } catch (NumberFormatException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Invalid value [" + interval + "] for " + StrutsConstants.STRUTS_CONFIGURATION_XML_RELOAD_INTERVAL
+                            + ", checking configuration on every request");
+                }
+            }
+        }
+    }
+
+    private void init_RegisterExpressionMetrics(Container container) {
+        updateExpressionMetrics(container);
+    }
+
+    /**
+     * Registers the OGNL expression metrics of the given container in JMX, in place of the ones of the previous
+     * container when the configuration was reloaded, as the value stacks then record into a new instance.
+     */
+    private synchronized void updateExpressionMetrics(Container container) {
+        if (container == metricsContainer) {
+            return;
+        }
+        metricsContainer = container;
+        OgnlExpressionMetrics metrics = container.getInstance(OgnlExpressionMetrics.class);
+        if (metrics == registeredMetrics) {
+            return;
+        }
+        if (registeredMetrics != null) {
+            registeredMetrics.unregisterMBean();
+            registeredMetrics = null;
+        }
+        if (metrics != null && metrics.isEnabled()) {
+            String name = (servletContext != null) ? servletContext.getServletContextName() : null;
+            if (name == null) {
+                name = "struts-" + Integer.toHexString(System.identityHashCode(this));
+            }
+            metrics.registerMBean(name);
+            registeredMetrics = metrics;
+        }
     }
 
     private void init_CheckWebLogicWorkaround(Container container) {
@@ -428,6 +488,7 @@ public class Dispatcher {
             //10、--------------额外动作
             init_CheckConfigurationReloading(container);
             init_CheckWebLogicWorkaround(container);
+            init_RegisterExpressionMetrics(container);
 
             if (!dispatcherListeners.isEmpty()) {
                 for (DispatcherListener l : dispatcherListeners) {
@@ -488,7 +549,12 @@ public class Dispatcher {
             String method = mapping.getMethod();
 
             Configuration config = configurationManager.getConfiguration();
-            ActionProxy proxy = config.getContainer().getInstance(ActionProxyFactory.class).createActionProxy(
+            Container container = config.getContainer();
+            if (container != metricsContainer && metricsContainer != null) {
+                // the configuration was reloaded
+                updateExpressionMetrics(container);
+            }
+            ActionProxy proxy = container.getInstance(ActionProxyFactory.class).createActionProxy(
                     namespace, name, method, extraContext, true, false);
 
             request.setAttribute(ServletActionContext.STRUTS_VALUESTACK_KEY, proxy.getInvocation().getStack());
@@ -543,7 +609,7 @@ public class Dispatcher {
         Map requestMap = new RequestMap(request);
 
         //-------request中的参数对应的map
-        Map params = new HashMap(request.getParameterMap());// parameters map wrapping the http parameters.  ActionMapping parameters are now handled and applied separately
+        Map params = new CopyOnWriteParameterMap(request.getParameterMap());// parameters map wrapping the http parameters, only copied when changed.  ActionMapping parameters are now handled and applied separately
 
         //-------session对象对应的map
         Map session = new SessionMap(request);// session map wrapping the http session
@@ -581,8 +647,13 @@ public class Dispatcher {
                                     HttpServletRequest request,
                                     HttpServletResponse response,
                                     ServletContext servletContext) {
-        HashMap<String,Object> extraContext = new HashMap<String,Object>();
-        extraContext.put(ActionContext.PARAMETERS, new HashMap(parameterMap));
+        HashMap<String,Object> extraContext = new HashMap<String,Object>(CONTEXT_MAP_CAPACITY);
+        if (parameterMap instanceof CopyOnWriteParameterMap) {
+            // shares the request parameters until either map is changed
+            extraContext.put(ActionContext.PARAMETERS, ((CopyOnWriteParameterMap) parameterMap).duplicate());
+        } else {
+            extraContext.put(ActionContext.PARAMETERS, new HashMap(parameterMap));
+        }
         extraContext.put(ActionContext.SESSION, sessionMap);
         extraContext.put(ActionContext.APPLICATION, applicationMap);
 
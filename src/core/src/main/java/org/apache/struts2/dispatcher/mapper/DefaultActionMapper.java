@@ -24,6 +24,7 @@ package org.apache.struts2.dispatcher.mapper;
 import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.config.Configuration;
 import com.opensymphony.xwork2.config.ConfigurationManager;
+import com.opensymphony.xwork2.config.RuntimeConfiguration;
 import com.opensymphony.xwork2.config.entities.PackageConfig;
 import com.opensymphony.xwork2.inject.Container;
 import com.opensymphony.xwork2.inject.Inject;
@@ -41,6 +42,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <!-- START SNIPPET: javadoc -->
@@ -185,6 +188,8 @@ public class DefaultActionMapper implements ActionMapper {
 
     protected Container container;
 
+    private volatile NamespaceIndex namespaceIndex;
+
     public DefaultActionMapper() {
         prefixTrie = new PrefixTrie() {
             {
@@ -401,27 +406,15 @@ public class DefaultActionMapper implements ActionMapper {
             name = uri.substring(lastSlash + 1);
         } else {
             // Try to find the namespace in those defined, defaulting to ""
-            Configuration config = configManager.getConfiguration();
+            NamespaceIndex index = getNamespaceIndex(configManager.getConfiguration());
             String prefix = uri.substring(0, lastSlash);
-            namespace = "";
-            boolean rootAvailable = false;
             // Find the longest matching namespace, defaulting to the default
-            for (Object cfg : config.getPackageConfigs().values()) {
-                String ns = ((PackageConfig) cfg).getNamespace();
-                if (ns != null && prefix.startsWith(ns) && (prefix.length() == ns.length() || prefix.charAt(ns.length()) == '/')) {
-                    if (ns.length() > namespace.length()) {
-                        namespace = ns;
-                    }
-                }
-                if ("/".equals(ns)) {
-                    rootAvailable = true;
-                }
-            }
+            namespace = index.findNamespace(prefix);
 
             name = uri.substring(namespace.length() + 1);
 
             // Still none found, use root namespace if found
-            if (rootAvailable && "".equals(namespace)) {
+            if (index.isRootAvailable() && "".equals(namespace)) {
                 namespace = "/";
             }
         }
@@ -437,6 +430,25 @@ public class DefaultActionMapper implements ActionMapper {
         mapping.setName(name);
     }
 
+    /**
+     * Returns the namespaces of the given configuration, the index is kept until the runtime configuration is
+     * rebuilt, e.g. after a reload
+     *
+     * @param config The configuration
+     * @return The namespace index
+     */
+    private NamespaceIndex getNamespaceIndex(Configuration config) {
+        RuntimeConfiguration runtimeConfiguration = config.getRuntimeConfiguration();
+        NamespaceIndex index = namespaceIndex;
+        if (index == null || runtimeConfiguration == null || !index.isBuiltFrom(config, runtimeConfiguration)) {
+            index = new NamespaceIndex(config, runtimeConfiguration);
+            if (runtimeConfiguration != null) {
+                namespaceIndex = index;
+            }
+        }
+        return index;
+    }
+
     /**
      * Drops the extension from the action name
      *
@@ -469,11 +481,11 @@ public class DefaultActionMapper implements ActionMapper {
                     return name;
                 }
             } else {
-                String extension = "." + ext;
-                if (name.endsWith(extension)) {
-                    name = name.substring(0, name.length() - extension.length());
+                // same as name.endsWith("." + ext) without building the string on each request
+                int dot = name.length() - ext.length() - 1;
+                if (dot >= 0 && name.charAt(dot) == '.' && name.endsWith(ext)) {
                     mapping.setExtension(ext);
-                    return name;
+                    return name.substring(0, dot);
                 }
             }
         }
@@ -575,4 +587,65 @@ public class DefaultActionMapper implements ActionMapper {
         return allowSlashesInActionNames;
     }
 
+
+    /**
+     * The namespaces of a configuration, finds the longest namespace of a uri with one lookup per path segment
+     * instead of going through all the packages, and remembers the namespace of the uris already mapped
+     */
+    private static final class NamespaceIndex {
+
+        private static final int MAX_RESOLVED_PREFIXES = 1024;
+
+        private final Configuration configuration;
+        private final RuntimeConfiguration runtimeConfiguration;
+        private final Set<String> namespaces = new HashSet<String>();
+        private final boolean rootAvailable;
+        private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<String, String>();
+
+        NamespaceIndex(Configuration configuration, RuntimeConfiguration runtimeConfiguration) {
+            this.configuration = configuration;
+            this.runtimeConfiguration = runtimeConfiguration;
+            for (PackageConfig packageConfig : configuration.getPackageConfigs().values()) {
+                String ns = packageConfig.getNamespace();
+                if (ns != null) {
+                    namespaces.add(ns);
+                }
+            }
+            rootAvailable = namespaces.contains("/");
+        }
+
+        boolean isBuiltFrom(Configuration configuration, RuntimeConfiguration runtimeConfiguration) {
+            return this.configuration == configuration && this.runtimeConfiguration == runtimeConfiguration;
+        }
+
+        boolean isRootAvailable() {
+            return rootAvailable;
+        }
+
+        String findNamespace(String prefix) {
+            String namespace = resolved.get(prefix);
+            if (namespace == null) {
+                namespace = findLongestNamespace(prefix);
+                if (resolved.size() >= MAX_RESOLVED_PREFIXES) {
+                    resolved.clear();
+                }
+                resolved.put(prefix, namespace);
+            }
+            return namespace;
+        }
+
+        private String findLongestNamespace(String prefix) {
+            if (namespaces.contains(prefix)) {
+                return prefix;
+            }
+            // a namespace matches when it is the prefix up to a slash
+            for (int slash = prefix.lastIndexOf('/'); slash > 0; slash = prefix.lastIndexOf('/', slash - 1)) {
+                String candidate = prefix.substring(0, slash);
+                if (namespaces.contains(candidate)) {
+                    return candidate;
+                }
+            }
+            return "";
+        }
+    }
 }
@@ -37,7 +37,7 @@ public class BackgroundProcess implements Serializable {
     protected ActionInvocation invocation;
     protected String result;
     protected Exception exception;
-    protected boolean done;
+    protected volatile boolean done;
 
     /**
      * Constructs a background process
@@ -52,15 +52,7 @@ public class BackgroundProcess implements Serializable {
         try {
             final Thread t = new Thread(new Runnable() {
                 public void run() {
-                    try {
-                        beforeInvocation();
-                        result = invocation.invokeActionOnly();
-                        afterInvocation();
-                    } catch (Exception e) {
-                        exception = e;
-                    }
-
-                    done = true;
+                    execute();
                 }
             });
             t.setName(threadName);
@@ -71,6 +63,35 @@ public class BackgroundProcess implements Serializable {
         }
     }
 
+    /**
+     * Constructs a background process run by one of the threads of the given executor
+     *
+     * @param invocation The action invocation
+     * @param executor The executor running the process
+     * @throws java.util.concurrent.RejectedExecutionException if the executor is busy or shut down
+     */
+    public BackgroundProcess(ActionInvocation invocation, BackgroundProcessExecutor executor) {
+        this.invocation = invocation;
+        this.action = invocation.getAction();
+        executor.execute(new Runnable() {
+            public void run() {
+                execute();
+            }
+        });
+    }
+
+    private void execute() {
+        try {
+            beforeInvocation();
+            result = invocation.invokeActionOnly();
+            afterInvocation();
+        } catch (Exception e) {
+            exception = e;
+        }
+
+        done = true;
+    }
+
     /**
      * Called before the background thread determines the result code
      * from the ActionInvocation.
@@ -0,0 +1,279 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.interceptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.opensymphony.xwork2.util.logging.Logger;
+import com.opensymphony.xwork2.util.logging.LoggerFactory;
+
+/**
+ * A named, bounded pool of threads running the background processes of the ExecuteAndWaitInterceptor.
+ * <p/>
+ * The executors are shared by name: all the interceptors configured with the same executor name use the same
+ * threads, the first one to acquire the executor decides of its size. The executor is shut down when the last
+ * interceptor using it is destroyed.
+ */
+public class BackgroundProcessExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BackgroundProcessExecutor.class);
+
+    private static final Map<String, BackgroundProcessExecutor> EXECUTORS = new HashMap<String, BackgroundProcessExecutor>();
+
+    private final String name;
+    private final int poolSize;
+    private final int queueSize;
+    private final ThreadPoolExecutor executor;
+    private int users;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalRunTime = new AtomicLong();
+    private final AtomicLong maxRunTime = new AtomicLong();
+
+    /**
+     * Creates an executor, use {@link #acquire(String, int, int, int)} to share executors by name
+     *
+     * @param name           The executor name, used to name the threads
+     * @param poolSize       The maximum number of processes running at the same time
+     * @param queueSize      The maximum number of processes waiting for a thread, 0 to reject them right away
+     * @param threadPriority The priority of the threads
+     */
+    public BackgroundProcessExecutor(String name, int poolSize, int queueSize, int threadPriority) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("The pool size of executor [" + name + "] must be positive: " + poolSize);
+        }
+        this.name = name;
+        this.poolSize = poolSize;
+        this.queueSize = Math.max(queueSize, 0);
+        BlockingQueue<Runnable> queue;
+        if (this.queueSize > 0) {
+            queue = new ArrayBlockingQueue<Runnable>(this.queueSize);
+        } else {
+            queue = new SynchronousQueue<Runnable>();
+        }
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+                new NamedThreadFactory(name, threadPriority));
+    }
+
+    /**
+     * Gets the executor with the given name, creating it when it doesn't exist yet. Each call must be matched by a
+     * call to {@link #release(BackgroundProcessExecutor)}.
+     *
+     * @param name           The executor name
+     * @param poolSize       The maximum number of processes running at the same time
+     * @param queueSize      The maximum number of processes waiting for a thread
+     * @param threadPriority The priority of the threads
+     * @return The shared executor
+     */
+    public static BackgroundProcessExecutor acquire(String name, int poolSize, int queueSize, int threadPriority) {
+        synchronized (EXECUTORS) {
+            BackgroundProcessExecutor executor = EXECUTORS.get(name);
+            if (executor == null) {
+                executor = new BackgroundProcessExecutor(name, poolSize, queueSize, threadPriority);
+                EXECUTORS.put(name, executor);
+            } else if (executor.poolSize != poolSize || executor.queueSize != Math.max(queueSize, 0)) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Executor [#0] already exists with a pool size of #1 and a queue size of #2, ignoring the requested sizes #3 and #4",
+                            name, String.valueOf(executor.poolSize), String.valueOf(executor.queueSize),
+                            String.valueOf(poolSize), String.valueOf(queueSize));
+                }
+            }
+            executor.users++;
+            return executor;
+        }
+    }
+
+    /**
+     * Releases an executor obtained by {@link #acquire(String, int, int, int)}, it is shut down once released by
+     * all its users. The processes already submitted are still run.
+     *
+     * @param executor The executor to release
+     */
+    public static void release(BackgroundProcessExecutor executor) {
+        synchronized (EXECUTORS) {
+            if (--executor.users <= 0) {
+                if (EXECUTORS.get(executor.name) == executor) {
+                    EXECUTORS.remove(executor.name);
+                }
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @return The executors currently in use
+     */
+    public static List<BackgroundProcessExecutor> getExecutors() {
+        synchronized (EXECUTORS) {
+            return new ArrayList<BackgroundProcessExecutor>(EXECUTORS.values());
+        }
+    }
+
+    /**
+     * Runs the process on one of the threads of this executor
+     *
+     * @param process The process to run
+     * @throws RejectedExecutionException if all the threads are busy and the queue is full, or if the executor is
+     *                                    shut down
+     */
+    public void execute(final Runnable process) throws RejectedExecutionException {
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    long start = System.currentTimeMillis();
+                    try {
+                        process.run();
+                    } finally {
+                        recordRunTime(System.currentTimeMillis() - start);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void recordRunTime(long runTime) {
+        completedCount.incrementAndGet();
+        totalRunTime.addAndGet(runTime);
+        long max = maxRunTime.get();
+        while (runTime > max && !maxRunTime.compareAndSet(max, runTime)) {
+            max = maxRunTime.get();
+        }
+    }
+
+    /**
+     * Stops accepting new processes, the processes already submitted are still run
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return The number of processes currently running
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return The number of processes waiting for a thread
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of processes run to the end, successfully or not
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return The number of processes rejected because the executor was busy or shut down
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return The total run time of the completed processes in millis
+     */
+    public long getTotalRunTime() {
+        return totalRunTime.get();
+    }
+
+    /**
+     * @return The longest run time of a completed process in millis
+     */
+    public long getMaxRunTime() {
+        return maxRunTime.get();
+    }
+
+    /**
+     * @return The average run time of the completed processes in millis
+     */
+    public long getAverageRunTime() {
+        long completed = completedCount.get();
+        return (completed == 0) ? 0 : totalRunTime.get() / completed;
+    }
+
+    @Override
+    public String toString() {
+        return "BackgroundProcessExecutor[name=" + name + ", poolSize=" + poolSize + ", queueSize=" + queueSize
+                + ", active=" + getActiveCount() + ", queued=" + getQueueDepth() + ", completed=" + getCompletedCount()
+                + ", rejected=" + getRejectedCount() + "]";
+    }
+
+    /**
+     * Names the threads after the executor
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final int threadPriority;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        NamedThreadFactory(String name, int threadPriority) {
+            this.name = name;
+            this.threadPriority = threadPriority;
+        }
+
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(threadPriority);
+            return thread;
+        }
+    }
+}
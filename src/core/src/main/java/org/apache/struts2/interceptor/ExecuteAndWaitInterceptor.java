@@ -23,6 +23,7 @@ package org.apache.struts2.interceptor;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.ActionInvocation;
@@ -83,6 +84,11 @@ import javax.servlet.http.HttpSession;
  * <p/>The thread kicked off by this interceptor will be named in the form <b><u>actionName</u>BackgroundProcess</b>.
  * For example, the <i>search</i> action would run as a thread named <i>searchBackgroundProcess</i>.
  *
+ * <p/>By default a new thread is started for each background process. When a pool size is set, the background
+ * processes are run by a bounded pool of threads instead, shared by all the interceptors using the same executor name.
+ * When all the threads are busy and the queue is full, the <b>busy</b> result (or the configured rejected result) is
+ * returned and the action isn't run.
+ *
  * <!-- END SNIPPET: description -->
  *
  * <p/> <u>Interceptor parameters:</u>
@@ -94,6 +100,10 @@ import javax.servlet.http.HttpSession;
  * <li>threadPriority (optional) - the priority to assign the thread. Default is <code>Thread.NORM_PRIORITY</code>.</li>
  * <li>delay (optional) - an initial delay in millis to wait before the wait page is shown (returning <code>wait</code> as result code). Default is no initial delay.</li>
  * <li>delaySleepInterval (optional) - only used with delay. Used for waking up at certain intervals to check if the background process is already done. Default is 100 millis.</li>
+ * <li>poolSize (optional) - the maximum number of background processes running at the same time on a pool of threads. Default is 0, a new thread is started for each process.</li>
+ * <li>queueSize (optional) - only used with poolSize. The maximum number of background processes waiting for a thread of the pool. Default is 0, processes are rejected when all the threads are busy.</li>
+ * <li>executorName (optional) - only used with poolSize. The name of the pool, interceptors using the same name share the threads. Default is <code>execAndWait</code>.</li>
+ * <li>rejectedResult (optional) - only used with poolSize. The result code returned when the pool can't take the process. Default is <code>busy</code>.</li>
  *
  * </ul>
  *
@@ -179,12 +189,20 @@ public class ExecuteAndWaitInterceptor extends MethodFilterInterceptor {
 
     public static final String KEY = "__execWait";
     public static final String WAIT = "wait";
+    public static final String BUSY = "busy";
+    public static final String DEFAULT_EXECUTOR_NAME = "execAndWait";
     protected int delay;
     protected int delaySleepInterval = 100; // default sleep 100 millis before checking if background process is done
     protected boolean executeAfterValidationPass = false;
 
     private int threadPriority = Thread.NORM_PRIORITY;
 
+    private int poolSize;
+    private int queueSize;
+    private String executorName = DEFAULT_EXECUTOR_NAME;
+    private String rejectedResult = BUSY;
+    private BackgroundProcessExecutor executor;
+
     private Container container;
 
     @Inject
@@ -196,20 +214,36 @@ public class ExecuteAndWaitInterceptor extends MethodFilterInterceptor {
     * @see com.opensymphony.xwork2.interceptor.Interceptor#init()
     */
     public void init() {
+        if (poolSize > 0) {
+            executor = BackgroundProcessExecutor.acquire(executorName, poolSize, queueSize, threadPriority);
+        }
     }
 
     /**
-     * Creates a new background process
+     * Creates a new background process, run by the executor if a pool size is set
      *
      * @param name The process name
      * @param actionInvocation The action invocation
      * @param threadPriority The thread priority
      * @return The new process
+     * @throws RejectedExecutionException if the executor can't take the process
      */
     protected BackgroundProcess getNewBackgroundProcess(String name, ActionInvocation actionInvocation, int threadPriority) {
+        if (executor != null) {
+            return new BackgroundProcess(actionInvocation, executor);
+        }
         return new BackgroundProcess(name + "BackgroundThread", actionInvocation, threadPriority);
     }
 
+    /**
+     * Gets the executor running the background processes
+     *
+     * @return the executor, <tt>null</tt> if a new thread is started for each process
+     */
+    protected BackgroundProcessExecutor getExecutor() {
+        return executor;
+    }
+
     /**
      * Returns the name to associate the background process.  Override to change the way background processes
      * are mapped to requests.
@@ -248,7 +282,14 @@ public class ExecuteAndWaitInterceptor extends MethodFilterInterceptor {
             BackgroundProcess bp = (BackgroundProcess) session.get(KEY + name);
 
             if ((!executeAfterValidationPass || secondTime) && bp == null) {
-                bp = getNewBackgroundProcess(name, actionInvocation, threadPriority);
+                try {
+                    bp = getNewBackgroundProcess(name, actionInvocation, threadPriority);
+                } catch (RejectedExecutionException e) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Background process of [#0] rejected by #1", name, String.valueOf(executor));
+                    }
+                    return rejectedResult;
+                }
                 session.put(KEY + name, bp);
                 performInitialDelay(bp); // first time let some time pass before showing wait page
                 secondTime = false;
@@ -307,6 +348,10 @@ public class ExecuteAndWaitInterceptor extends MethodFilterInterceptor {
      * @see com.opensymphony.xwork2.interceptor.Interceptor#destroy()
      */
     public void destroy() {
+        if (executor != null) {
+            BackgroundProcessExecutor.release(executor);
+            executor = null;
+        }
     }
 
     /**
@@ -348,6 +393,42 @@ public class ExecuteAndWaitInterceptor extends MethodFilterInterceptor {
         this.threadPriority = threadPriority;
     }
 
+    /**
+     * Sets the maximum number of background processes running at the same time, they are run by a pool of threads.
+     *
+     * @param poolSize the pool size (0 to start a new thread for each process)
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Sets the maximum number of background processes waiting for a thread of the pool.
+     *
+     * @param queueSize the queue size (0 to reject the processes when all the threads are busy)
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Sets the name of the pool of threads, the interceptors using the same name share the pool.
+     *
+     * @param executorName the executor name
+     */
+    public void setExecutorName(String executorName) {
+        this.executorName = executorName;
+    }
+
+    /**
+     * Sets the result code returned when the pool of threads can't take the background process.
+     *
+     * @param rejectedResult the result code
+     */
+    public void setRejectedResult(String rejectedResult) {
+        this.rejectedResult = rejectedResult;
+    }
+
     /**
      * Sets the initial delay in millis (msec).
      *
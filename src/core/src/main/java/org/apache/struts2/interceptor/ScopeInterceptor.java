@@ -22,9 +22,11 @@
 package org.apache.struts2.interceptor;
 
 import java.io.Serializable;
-import java.util.IdentityHashMap;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
 import org.apache.struts2.ServletActionContext;
 import org.apache.struts2.StrutsException;
 import org.apache.struts2.dispatcher.SessionMap;
@@ -53,7 +55,8 @@ import com.opensymphony.xwork2.util.logging.LoggerFactory;
  * <p/> To make sure that each execution of the action is consistent it makes use of session-level locking. This way it
  * guarantees that each action execution is atomic at the session level. It doesn't guarantee application level
  * consistency however there has yet to be enough reasons to do so. Application level consistency would also be a big
- * performance overkill.
+ * performance overkill. Each session has its own lock in a {@link SessionLockManager} shared by all the scope
+ * interceptors, a request waiting longer than the lock timeout for its session fails.
  *
  * <p/> Note that this interceptor takes a snapshot of action properties just before result is presented (using a {@link
  * PreResultListener}), rather than after action is invoked. There is a reason for that: At this moment we know that
@@ -105,6 +108,10 @@ import com.opensymphony.xwork2.util.logging.LoggerFactory;
  * <li>reset - boolean, defaults to false, if set, it has the same effect as setting all session values to be reset to action's default values or application.</li>
  *
  * <li>autoCreateSession - boolean value, sets if the session should be automatically created.</li>
+ *
+ * <li>lockTimeout - the maximum time in millis to wait for the session lock, defaults to 30000.</li>
+ *
+ * <li>fairLock - boolean, defaults to false, if set, the session lock is granted to the longest waiting request first.</li>
  * </ul>
  *
  * <!-- END SNIPPET: parameters -->
@@ -146,6 +153,12 @@ public class ScopeInterceptor extends AbstractInterceptor implements PreResultLi
 
     private static final Logger LOG = LoggerFactory.getLogger(ScopeInterceptor.class);
 
+    public static final long DEFAULT_LOCK_TIMEOUT = 30000;
+
+    private static final String LOCK_KEY = ScopeInterceptor.class.getName() + ".lock";
+
+    private static final SessionLockManager LOCK_MANAGER = new SessionLockManager();
+
     private String[] application = null;
     private String[] session = null;
     private String key;
@@ -153,6 +166,8 @@ public class ScopeInterceptor extends AbstractInterceptor implements PreResultLi
     private boolean autoCreateSession = true;
     private String sessionReset = "session.reset";
     private boolean reset = false;
+    private long lockTimeout = DEFAULT_LOCK_TIMEOUT;
+    private boolean fairLock = false;
 
     /**
      * Sets a list of application scoped properties
@@ -231,41 +246,56 @@ public class ScopeInterceptor extends AbstractInterceptor implements PreResultLi
         return o;
     }
 
-    private static Map locks = new IdentityHashMap();
+    /**
+     * Gets the manager locking the sessions, it must be the same for all the interceptors sharing a session
+     *
+     * @return The lock manager
+     */
+    protected SessionLockManager getLockManager() {
+        return LOCK_MANAGER;
+    }
 
-    static final void lock(Object o, ActionInvocation invocation) throws Exception {
-        synchronized (o) {
-            int count = 3;
-            Object previous = null;
-            while ((previous = locks.get(o)) != null) {
-                if (previous == invocation) {
-                    return;
-                }
-                if (count-- <= 0) {
-                    locks.remove(o);
-                    o.notify();
+    /**
+     * Gets the key of the session lock, the session id when there is a real session as the session map is created for
+     * each request
+     *
+     * @param ses The session map
+     * @return The lock key
+     */
+    private Object getLockKey(Map ses) {
+        HttpServletRequest request = ServletActionContext.getRequest();
+        HttpSession httpSession = (request != null) ? request.getSession(false) : null;
+        if (httpSession != null) {
+            return httpSession.getId();
+        }
+        return Integer.valueOf(System.identityHashCode(ses));
+    }
 
-                    throw new StrutsException("Deadlock in session lock");
-                }
-                o.wait(10000);
-            }
-            ;
-            locks.put(o, invocation);
+    private void lock(Map ses, ActionInvocation invocation) throws Exception {
+        ActionContext context = invocation.getInvocationContext();
+        if (context.get(LOCK_KEY) != null) {
+            return;
         }
+        SessionLockManager.SessionLock lock = getLockManager().lock(getLockKey(ses), lockTimeout, fairLock);
+        if (lock == null) {
+            throw new StrutsException("Deadlock in session lock");
+        }
+        context.put(LOCK_KEY, lock);
     }
 
-    static final void unlock(Object o) {
-        synchronized (o) {
-            locks.remove(o);
-            o.notify();
+    private void unlock(ActionInvocation invocation) {
+        ActionContext context = invocation.getInvocationContext();
+        SessionLockManager.SessionLock lock = (SessionLockManager.SessionLock) context.get(LOCK_KEY);
+        if (lock != null) {
+            context.put(LOCK_KEY, null);
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
         }
     }
 
     protected void after(ActionInvocation invocation, String result) throws Exception {
-        Map ses = ActionContext.getContext().getSession();
-        if ( ses != null) {
-            unlock(ses);
-        }
+        unlock(invocation);
     }
 
 
@@ -376,7 +406,7 @@ public class ScopeInterceptor extends AbstractInterceptor implements PreResultLi
                     }
                 }
             }
-            unlock(ses);
+            unlock(invocation);
         } else {
             LOG.debug("No HttpSession created... Cannot save session scoped variables.");
         }
@@ -425,20 +455,45 @@ public class ScopeInterceptor extends AbstractInterceptor implements PreResultLi
      */
     public String intercept(ActionInvocation invocation) throws Exception {
         String result = null;
-        Map ses = ActionContext.getContext().getSession();
         before(invocation);
         try {
             result = invocation.invoke();
             after(invocation, result);
         } finally {
-            if (ses != null) {
-                unlock(ses);
-            }
+            unlock(invocation);
         }
 
         return result;
     }
 
+    /**
+     * @return The maximum time in millis to wait for the session lock
+     */
+    public long getLockTimeout() {
+        return lockTimeout;
+    }
+
+    /**
+     * @param lockTimeout The maximum time in millis to wait for the session lock
+     */
+    public void setLockTimeout(long lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    /**
+     * @return True if the session lock is granted to the longest waiting request first
+     */
+    public boolean isFairLock() {
+        return fairLock;
+    }
+
+    /**
+     * @param fairLock True to grant the session lock to the longest waiting request first
+     */
+    public void setFairLock(boolean fairLock) {
+        this.fairLock = fairLock;
+    }
+
     /**
      * @return True if the scope is reset
      */
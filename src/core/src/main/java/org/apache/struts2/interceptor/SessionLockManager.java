@@ -0,0 +1,192 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.interceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks sessions for the ScopeInterceptor, with one lock per session so that requests on different sessions never
+ * wait for each other.
+ * <p/>
+ * A session is identified by a key, usually its id. Its lock is created when first requested and removed once no
+ * thread holds it nor waits for it, so that the locks of the expired sessions aren't kept. The locks are reentrant and
+ * owned by the thread which acquired them.
+ */
+public class SessionLockManager {
+
+    private final ConcurrentMap<Object, SessionLock> locks = new ConcurrentHashMap<Object, SessionLock>();
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong contendedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Locks a session, waiting at most the given time
+     *
+     * @param key     The session key
+     * @param timeout The maximum time to wait in millis
+     * @param fair    True to grant the lock to the longest waiting threads first, only used when the lock of the session
+     *                is created
+     * @return The acquired lock, to unlock once done, or <tt>null</tt> if it couldn't be acquired in time
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public SessionLock lock(Object key, long timeout, boolean fair) throws InterruptedException {
+        SessionLock lock = retain(key, fair);
+        boolean acquired = false;
+        try {
+            if (!lock.lock.tryLock()) {
+                contendedCount.incrementAndGet();
+                if (!lock.lock.tryLock(timeout, TimeUnit.MILLISECONDS)) {
+                    timeoutCount.incrementAndGet();
+                    return null;
+                }
+            }
+            acquired = true;
+        } finally {
+            if (!acquired) {
+                lock.release();
+            }
+        }
+        acquiredCount.incrementAndGet();
+        return lock;
+    }
+
+    /**
+     * Gets the lock of a session, counting the calling thread as one of its users
+     */
+    private SessionLock retain(Object key, boolean fair) {
+        while (true) {
+            SessionLock lock = locks.get(key);
+            if (lock == null) {
+                lock = new SessionLock(key, fair);
+                SessionLock existing = locks.putIfAbsent(key, lock);
+                if (existing != null) {
+                    lock = existing;
+                }
+            }
+            if (lock.retain()) {
+                return lock;
+            }
+            // the lock is being removed, the next one will be created in its place
+        }
+    }
+
+    /**
+     * @return The number of sessions locked or waited for
+     */
+    public int getLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * @return The number of times a lock was acquired
+     */
+    public long getAcquiredCount() {
+        return acquiredCount.get();
+    }
+
+    /**
+     * @return The number of times a lock was held by another thread when requested
+     */
+    public long getContendedCount() {
+        return contendedCount.get();
+    }
+
+    /**
+     * @return The number of times a lock couldn't be acquired in time
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return The number of threads currently waiting for a lock
+     */
+    public int getQueueLength() {
+        int length = 0;
+        for (SessionLock lock : locks.values()) {
+            length += lock.lock.getQueueLength();
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionLockManager[locks=" + getLockCount() + ", acquired=" + getAcquiredCount()
+                + ", contended=" + getContendedCount() + ", timeouts=" + getTimeoutCount() + "]";
+    }
+
+    /**
+     * The lock of a session, acquired through {@link SessionLockManager#lock(Object, long, boolean)}
+     */
+    public final class SessionLock {
+
+        private final Object key;
+        private final ReentrantLock lock;
+        // the threads holding or waiting for the lock, -1 once removed from the manager
+        private final AtomicInteger users = new AtomicInteger();
+
+        SessionLock(Object key, boolean fair) {
+            this.key = key;
+            this.lock = new ReentrantLock(fair);
+        }
+
+        boolean retain() {
+            while (true) {
+                int count = users.get();
+                if (count < 0) {
+                    return false;
+                }
+                if (users.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (users.decrementAndGet() == 0 && users.compareAndSet(0, -1)) {
+                locks.remove(key, this);
+            }
+        }
+
+        /**
+         * Unlocks the session, once per successful {@link SessionLockManager#lock(Object, long, boolean)}
+         */
+        public void unlock() {
+            lock.unlock();
+            release();
+        }
+
+        public boolean isHeldByCurrentThread() {
+            return lock.isHeldByCurrentThread();
+        }
+
+        public boolean isFair() {
+            return lock.isFair();
+        }
+    }
+}
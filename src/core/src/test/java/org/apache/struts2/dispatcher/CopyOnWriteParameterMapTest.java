@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.dispatcher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+
+/**
+ */
+public class CopyOnWriteParameterMapTest extends TestCase {
+
+    private Map<String, Object> original;
+
+    public void testReadsDoNotCopy() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("name"));
+        assertEquals("bar", ((String[]) map.get("foo"))[0]);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            assertNotNull(entry.getValue());
+        }
+
+        assertFalse(map.isCopied());
+    }
+
+    public void testPutAndRemoveLeaveOriginalUntouched() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+
+        map.put("added", new String[]{"value"});
+        map.remove("foo");
+
+        assertTrue(map.isCopied());
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("added"));
+        assertFalse(map.containsKey("foo"));
+        assertEquals(2, original.size());
+        assertTrue(original.containsKey("foo"));
+    }
+
+    public void testIteratorRemove() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+
+        for (Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if ("foo".equals(entry.getKey())) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey("foo"));
+        assertTrue(original.containsKey("foo"));
+    }
+
+    public void testEntrySetValue() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+
+        Map.Entry<String, Object> entry = map.entrySet().iterator().next();
+        entry.setValue("changed");
+
+        assertEquals("changed", map.get(entry.getKey()));
+        assertFalse("changed".equals(original.get(entry.getKey())));
+    }
+
+    public void testDuplicateIsIndependent() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+        CopyOnWriteParameterMap duplicate = map.duplicate();
+
+        duplicate.remove("foo");
+        map.put("other", "value");
+
+        assertTrue(map.containsKey("foo"));
+        assertFalse(duplicate.containsKey("foo"));
+        assertFalse(duplicate.containsKey("other"));
+        assertEquals(new HashMap<String, Object>(map), map.duplicate());
+    }
+
+    public void testClear() {
+        CopyOnWriteParameterMap map = new CopyOnWriteParameterMap(original);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(2, original.size());
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("foo", new String[]{"bar"});
+        params.put("name", new String[]{"struts"});
+        original = Collections.unmodifiableMap(params);
+    }
+}
@@ -21,10 +21,15 @@
 
 package org.apache.struts2.dispatcher;
 
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.servlet.FilterConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
@@ -35,6 +40,7 @@ import org.apache.struts2.StrutsTestCase;
 import org.apache.struts2.dispatcher.FilterDispatcherTest.InnerActionMapper;
 import org.apache.struts2.dispatcher.FilterDispatcherTest.InnerDestroyableObjectFactory;
 import org.apache.struts2.dispatcher.FilterDispatcherTest.InnerDispatcher;
+import org.apache.struts2.dispatcher.mapper.ActionMapping;
 import org.springframework.mock.web.MockFilterConfig;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -54,6 +60,7 @@ import com.opensymphony.xwork2.inject.ContainerBuilder;
 import com.opensymphony.xwork2.inject.Context;
 import com.opensymphony.xwork2.inject.Factory;
 import com.opensymphony.xwork2.interceptor.Interceptor;
+import com.opensymphony.xwork2.ognl.OgnlExpressionMetrics;
 import com.opensymphony.xwork2.util.LocalizedTextUtil;
 
 /**
@@ -208,6 +215,35 @@ public class DispatcherTest extends StrutsTestCase {
         mockConfiguration.verify();
     }
     
+    public void testExpressionMetricsRegisteredAfterReload() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName("com.opensymphony.xwork2:type=OgnlExpressionMetrics,*");
+        Set<ObjectName> registered = server.queryNames(pattern, null);
+
+        Dispatcher du = initDispatcher(new HashMap<String, String>() {{
+            put(StrutsConstants.STRUTS_OGNL_EXPRESSION_METRICS, "true");
+        }});
+        Set<ObjectName> names = server.queryNames(pattern, null);
+        names.removeAll(registered);
+        assertEquals(1, names.size());
+        ObjectName name = names.iterator().next();
+        OgnlExpressionMetrics first = du.getContainer().getInstance(OgnlExpressionMetrics.class);
+
+        du.getConfigurationManager().reload();
+        OgnlExpressionMetrics second = du.getContainer().getInstance(OgnlExpressionMetrics.class);
+        assertNotSame(first, second);
+        du.serviceAction(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockServletContext(),
+                new ActionMapping("doesNotExist", "/", null, null));
+
+        // JMX now shows the metrics the value stacks record into
+        server.setAttribute(name, new Attribute("Enabled", Boolean.FALSE));
+        assertFalse(second.isEnabled());
+        assertTrue(first.isEnabled());
+
+        du.cleanup();
+        assertFalse(server.isRegistered(name));
+    }
+
     class InternalConfigurationManager extends ConfigurationManager {
     	public boolean destroyConfiguration = false;
     	
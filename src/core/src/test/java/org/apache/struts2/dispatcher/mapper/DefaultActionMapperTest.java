@@ -397,6 +397,36 @@ public class DefaultActionMapperTest extends StrutsTestCase {
         assertEquals(actionMapping.getNamespace(), "");
     }
 
+    public void testParseNameAndNamespace_LongestNamespace() throws Exception {
+        DefaultActionMapper defaultActionMapper = new DefaultActionMapper();
+        defaultActionMapper.setSlashesInActionNames("true");
+
+        ActionMapping actionMapping = new ActionMapping();
+        defaultActionMapper.parseNameAndNamespace("/my/namespace/foo/someAction", actionMapping, configManager);
+        assertEquals("foo/someAction", actionMapping.getName());
+        assertEquals("/my/namespace", actionMapping.getNamespace());
+
+        actionMapping = new ActionMapping();
+        defaultActionMapper.parseNameAndNamespace("/my/namespaces/someAction", actionMapping, configManager);
+        assertEquals("namespaces/someAction", actionMapping.getName());
+        assertEquals("/my", actionMapping.getNamespace());
+    }
+
+    public void testParseNameAndNamespace_AfterReload() throws Exception {
+        DefaultActionMapper defaultActionMapper = new DefaultActionMapper();
+
+        ActionMapping actionMapping = new ActionMapping();
+        defaultActionMapper.parseNameAndNamespace("/reloaded/someAction", actionMapping, configurationManager);
+        assertEquals("", actionMapping.getNamespace());
+
+        configuration.addPackageConfig("reloaded", new PackageConfig.Builder("reloaded").namespace("/reloaded").build());
+        configuration.rebuildRuntimeConfiguration();
+
+        actionMapping = new ActionMapping();
+        defaultActionMapper.parseNameAndNamespace("/reloaded/someAction", actionMapping, configurationManager);
+        assertEquals("someAction", actionMapping.getName());
+        assertEquals("/reloaded", actionMapping.getNamespace());
+    }
 
     // ===========================
     // === test special prefix ===
@@ -0,0 +1,112 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.interceptor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.opensymphony.xwork2.mock.MockActionInvocation;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for BackgroundProcessExecutor.
+ */
+public class BackgroundProcessExecutorTest extends TestCase {
+
+    public void testRejectsWhenBusy() throws Exception {
+        BackgroundProcessExecutor executor = new BackgroundProcessExecutor("test", 1, 1, Thread.NORM_PRIORITY);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    started.countDown();
+                    try {
+                        finish.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1, executor.getActiveCount());
+
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            assertEquals(1, executor.getQueueDepth());
+
+            try {
+                executor.execute(new Runnable() {
+                    public void run() {
+                    }
+                });
+                fail("the executor should be busy");
+            } catch (RejectedExecutionException e) {
+                // expected
+            }
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+
+    public void testRunsBackgroundProcess() throws Exception {
+        BackgroundProcessExecutor executor = new BackgroundProcessExecutor("test", 2, 0, Thread.NORM_PRIORITY);
+        try {
+            MockActionInvocation invocation = new MockActionInvocation();
+            invocation.setAction(new Object());
+            invocation.setResultCode("success");
+
+            BackgroundProcess process = new BackgroundProcess(invocation, executor);
+            for (int i = 0; i < 50 && !process.isDone(); i++) {
+                Thread.sleep(100);
+            }
+
+            assertTrue(process.isDone());
+            assertEquals("success", process.getResult());
+            assertNull(process.getException());
+            assertSame(invocation.getAction(), process.getAction());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testSharedByName() throws Exception {
+        BackgroundProcessExecutor executor = BackgroundProcessExecutor.acquire("shared", 2, 0, Thread.NORM_PRIORITY);
+        BackgroundProcessExecutor other = BackgroundProcessExecutor.acquire("shared", 4, 0, Thread.NORM_PRIORITY);
+        assertSame(executor, other);
+        assertEquals(2, other.getPoolSize());
+        assertTrue(BackgroundProcessExecutor.getExecutors().contains(executor));
+
+        BackgroundProcessExecutor.release(other);
+        assertFalse(executor.isShutdown());
+
+        BackgroundProcessExecutor.release(executor);
+        assertTrue(executor.isShutdown());
+        assertFalse(BackgroundProcessExecutor.getExecutors().contains(executor));
+    }
+}
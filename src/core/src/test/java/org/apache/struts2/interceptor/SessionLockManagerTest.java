@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.interceptor;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for SessionLockManager.
+ */
+public class SessionLockManagerTest extends TestCase {
+
+    public void testLockIsReentrant() throws Exception {
+        SessionLockManager manager = new SessionLockManager();
+        SessionLockManager.SessionLock lock = manager.lock("session-1", 100, true);
+        assertNotNull(lock);
+        assertTrue(lock.isFair());
+        try {
+            assertSame(lock, manager.lock(new String("session-1"), 100, false));
+            lock.unlock();
+            assertTrue(lock.isHeldByCurrentThread());
+        } finally {
+            lock.unlock();
+        }
+        assertFalse(lock.isHeldByCurrentThread());
+        assertEquals(2, manager.getAcquiredCount());
+        assertEquals(0, manager.getContendedCount());
+    }
+
+    public void testLocksRemovedOnceUnused() throws Exception {
+        SessionLockManager manager = new SessionLockManager();
+        SessionLockManager.SessionLock lock1 = manager.lock("session-1", 100, false);
+        SessionLockManager.SessionLock lock2 = manager.lock("session-2", 100, false);
+        assertNotSame(lock1, lock2);
+        assertEquals(2, manager.getLockCount());
+
+        lock1.unlock();
+        lock2.unlock();
+        assertEquals(0, manager.getLockCount());
+
+        SessionLockManager.SessionLock lock3 = manager.lock("session-1", 100, false);
+        assertNotSame(lock1, lock3);
+        lock3.unlock();
+        assertEquals(0, manager.getLockCount());
+    }
+
+    public void testOtherSessionsDoNotWait() throws Exception {
+        final SessionLockManager manager = new SessionLockManager();
+        SessionLockManager.SessionLock lock = manager.lock("session-1", 100, false);
+        try {
+            final Object[] result = new Object[1];
+            Thread other = new Thread() {
+                public void run() {
+                    try {
+                        for (int i = 0; i < 1000 && result[0] == null; i++) {
+                            SessionLockManager.SessionLock otherLock = manager.lock("session-" + (i + 2), 0, false);
+                            if (otherLock == null) {
+                                result[0] = "session-" + (i + 2);
+                            } else {
+                                otherLock.unlock();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        result[0] = e;
+                    }
+                }
+            };
+            other.start();
+            other.join(5000);
+
+            assertNull(result[0]);
+            assertEquals(0, manager.getContendedCount());
+            assertEquals(1, manager.getLockCount());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void testTimeoutWhenLockedByAnotherThread() throws Exception {
+        final SessionLockManager manager = new SessionLockManager();
+        SessionLockManager.SessionLock lock = manager.lock("session-1", 100, false);
+        try {
+            final Object[] result = new Object[1];
+            Thread other = new Thread() {
+                public void run() {
+                    try {
+                        result[0] = manager.lock("session-1", 50, false);
+                    } catch (InterruptedException e) {
+                        result[0] = e;
+                    }
+                }
+            };
+            other.start();
+            other.join(5000);
+
+            assertNull(result[0]);
+            assertEquals(1, manager.getContendedCount());
+            assertEquals(1, manager.getTimeoutCount());
+        } finally {
+            lock.unlock();
+        }
+        assertEquals(0, manager.getLockCount());
+    }
+}
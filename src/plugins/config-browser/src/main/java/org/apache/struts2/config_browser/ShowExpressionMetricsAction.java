@@ -0,0 +1,75 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.struts2.config_browser;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.ognl.OgnlExpressionMetrics;
+
+/**
+ * Shows how often and how long the OGNL expressions are evaluated, the most costly first
+ */
+public class ShowExpressionMetricsAction extends ActionNamesAction {
+
+    private OgnlExpressionMetrics metrics;
+    private boolean reset;
+
+    @Inject(required = false)
+    public void setExpressionMetrics(OgnlExpressionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param reset whether the recorded evaluations are forgotten
+     */
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+
+    public String execute() throws Exception {
+        if (reset && metrics != null) {
+            metrics.reset();
+        }
+        return super.execute();
+    }
+
+    public boolean isEnabled() {
+        return metrics != null && metrics.isEnabled();
+    }
+
+    public int getSampleRate() {
+        return (metrics == null) ? 0 : metrics.getSampleRate();
+    }
+
+    public long getUntrackedEvaluationCount() {
+        return (metrics == null) ? 0 : metrics.getUntrackedEvaluationCount();
+    }
+
+    public List<OgnlExpressionMetrics.ExpressionStats> getExpressionStats() {
+        if (metrics == null) {
+            return Collections.emptyList();
+        }
+        return metrics.getExpressionStats();
+    }
+}
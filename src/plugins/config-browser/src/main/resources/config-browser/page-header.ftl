@@ -58,6 +58,9 @@
 						<div><@s.url id="jarsLink" action="showJars" includeParams="none" />
 							<a href="${jarsLink}">Jars (requires Maven 2 data)</a>
 						</div>
+						<div><@s.url id="metricsLink" action="showExpressionMetrics" includeParams="none" />
+							<a href="${metricsLink}">OGNL Expression Metrics</a>
+						</div>
 					</div>
 				</div>
 				<div id="projecttools" class="toolgroup">
@@ -0,0 +1,65 @@
+<#--
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+-->
+<#include "tigris-macros.ftl"/>
+<@startPage pageTitle="OGNL Expression Metrics"/>
+<h3>OGNL Expression Metrics</h3>
+
+<#if !enabled>
+<p>The metrics are disabled, set the constant struts.ognl.expressionMetrics to true to record them.</p>
+<#else>
+<p>
+One evaluation out of ${sampleRate} is timed, the percentiles are computed from the latest timed evaluations.
+<#if untrackedEvaluationCount gt 0>${untrackedEvaluationCount} evaluations of other expressions were not recorded, the maximum number of expressions being reached.</#if>
+<@s.url id="resetLink" action="showExpressionMetrics" includeParams="none"><@s.param name="reset">true</@s.param></@s.url>
+<a href="${resetLink}">Reset</a>
+</p>
+</#if>
+
+<table width="100%">
+	<tr>
+		<th>Expression</th>
+		<th>Evaluations</th>
+		<th>Failures</th>
+		<th>Estimated total (ms)</th>
+		<th>Mean (ms)</th>
+		<th>50% (ms)</th>
+		<th>90% (ms)</th>
+		<th>99% (ms)</th>
+		<th>Max (ms)</th>
+	</tr>
+	<#list expressionStats as stats>
+		<tr <#if stats_index%2 gt 0>class="b"<#else>class="a"</#if>>
+		<td>${stats.expression?html}</td>
+		<td>${stats.count}</td>
+		<td>${stats.failureCount}</td>
+		<td>${stats.estimatedTotalMillis?string("0.###")}</td>
+		<td>${stats.meanMillis?string("0.###")}</td>
+		<td>${stats.getPercentileMillis(50)?string("0.###")}</td>
+		<td>${stats.getPercentileMillis(90)?string("0.###")}</td>
+		<td>${stats.getPercentileMillis(99)?string("0.###")}</td>
+		<td>${stats.maxMillis?string("0.###")}</td>
+		</tr>
+	</#list>
+</table>
+
+<@endPage />
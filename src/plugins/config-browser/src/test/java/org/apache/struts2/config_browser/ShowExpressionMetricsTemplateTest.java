@@ -0,0 +1,112 @@
+/*
+ * $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.struts2.config_browser;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.StringTemplateLoader;
+import freemarker.cache.TemplateLoader;
+import freemarker.core.Environment;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+
+/**
+ * Renders showExpressionMetrics.ftl, the page layout and the Struts tags being stubbed
+ */
+public class ShowExpressionMetricsTemplateTest extends TestCase {
+
+    private Configuration configuration;
+
+    protected void setUp() throws Exception {
+        StringTemplateLoader macros = new StringTemplateLoader();
+        macros.putTemplate("tigris-macros.ftl",
+                "<#macro startPage pageTitle></#macro><#macro endPage></#macro>");
+        configuration = new Configuration();
+        configuration.setTemplateLoader(new MultiTemplateLoader(new TemplateLoader[] {
+                macros, new ClassTemplateLoader(getClass(), "/config-browser")
+        }));
+    }
+
+    public void testRendersTableWhenDisabled() throws Exception {
+        Map<String, Object> model = createModel(false);
+
+        String page = render(model);
+
+        assertTrue(page, page.indexOf("The metrics are disabled") >= 0);
+        assertTrue(page, page.indexOf("<table") >= 0);
+        assertTrue(page, page.indexOf("<th>Expression</th>") >= 0);
+        assertTrue(page, page.indexOf("Licensed to the Apache Software Foundation") < 0);
+    }
+
+    public void testRendersTableWhenEnabled() throws Exception {
+        Map<String, Object> model = createModel(true);
+
+        String page = render(model);
+
+        assertTrue(page, page.indexOf("One evaluation out of 10 is timed") >= 0);
+        assertTrue(page, page.indexOf("<a href=\"reset\">Reset</a>") >= 0);
+        assertTrue(page, page.indexOf("<th>99% (ms)</th>") >= 0);
+    }
+
+    private Map<String, Object> createModel(boolean enabled) {
+        Map<String, Object> tags = new HashMap<String, Object>();
+        tags.put("url", new NoopDirective());
+        tags.put("param", new NoopDirective());
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("s", tags);
+        model.put("enabled", enabled);
+        model.put("sampleRate", 10);
+        model.put("untrackedEvaluationCount", 0);
+        model.put("expressionStats", Collections.emptyList());
+        model.put("resetLink", "reset");
+        return model;
+    }
+
+    private String render(Map<String, Object> model) throws Exception {
+        StringWriter out = new StringWriter();
+        configuration.getTemplate("showExpressionMetrics.ftl").process(model, out);
+        return out.toString();
+    }
+
+    private static class NoopDirective implements TemplateDirectiveModel {
+        public void execute(Environment env, Map params, TemplateModel[] loopVars, TemplateDirectiveBody body)
+                throws TemplateException, IOException {
+            Writer ignored = new StringWriter();
+            if (body != null) {
+                body.render(ignored);
+            }
+        }
+    }
+}
@@ -18,10 +18,12 @@ package com.opensymphony.xwork2;
 import com.opensymphony.xwork2.config.Configuration;
 import com.opensymphony.xwork2.config.ConfigurationException;
 import com.opensymphony.xwork2.config.entities.ActionConfig;
+import com.opensymphony.xwork2.config.entities.InterceptorChain;
 import com.opensymphony.xwork2.config.entities.InterceptorMapping;
 import com.opensymphony.xwork2.config.entities.ResultConfig;
 import com.opensymphony.xwork2.inject.Container;
 import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
 import com.opensymphony.xwork2.interceptor.PreResultListener;
 import com.opensymphony.xwork2.util.ValueStack;
 import com.opensymphony.xwork2.util.ValueStackFactory;
@@ -35,6 +37,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -59,12 +63,23 @@ public class DefaultActionInvocation implements ActionInvocation {
     private static final Class[] EMPTY_CLASS_ARRAY   = new Class[0];
     private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
 
+    private static final int MAX_CACHED_METHODS = 100;
+
+    // weakly keyed so that the action classes and their class loaders can be unloaded
+    private static final ClassMetadataCache<ConcurrentMap<String, ActionMethod>> ACTION_METHODS =
+            new ClassMetadataCache<ConcurrentMap<String, ActionMethod>>("actionMethods");
+
+    private static final String INVOKE_PROFILE_KEY = "invoke: ";
+    private static final String PRE_RESULT_LISTENER_PROFILE_KEY = "preResultListener: ";
+
     protected Object action;
     protected ActionProxy proxy;
     protected List<PreResultListener> preResultListeners;
     protected Map<String, Object> extraContext;
     protected ActionContext invocationContext;
     protected Iterator<InterceptorMapping> interceptors;
+    protected InterceptorChain interceptorChain;
+    protected int interceptorIndex;
     protected ValueStack stack;
     protected Result result;
     protected Result explicitResult;
@@ -233,7 +248,7 @@ public class DefaultActionInvocation implements ActionInvocation {
      * @throws ConfigurationException If no result can be found with the returned code
      */
     public String invoke() throws Exception {
-        String profileKey = "invoke: ";
+        String profileKey = INVOKE_PROFILE_KEY;
         try {
             UtilTimerStack.push(profileKey);
 
@@ -241,13 +256,28 @@ public class DefaultActionInvocation implements ActionInvocation {
                 throw new IllegalStateException("Action has already executed");
             }
 
-            if (interceptors.hasNext()) {
-                final InterceptorMapping interceptor = (InterceptorMapping) interceptors.next();
-                String interceptorMsg = "interceptor: " + interceptor.getName();
+            if (interceptors != null) {
+                // interceptors were handed over as an iterator, e.g. by a subclass
+                if (interceptors.hasNext()) {
+                    final InterceptorMapping interceptor = (InterceptorMapping) interceptors.next();
+                    String interceptorMsg = "interceptor: " + interceptor.getName();
+                    UtilTimerStack.push(interceptorMsg);
+                    try {
+                                    resultCode = interceptor.getInterceptor().intercept(DefaultActionInvocation.this);
+                                }
+                    finally {
+                        UtilTimerStack.pop(interceptorMsg);
+                    }
+                } else {
+                    resultCode = invokeActionOnly();
+                }
+            } else if (interceptorChain != null && interceptorIndex < interceptorChain.size()) {
+                final int index = interceptorIndex++;
+                String interceptorMsg = interceptorChain.getProfileKey(index);
                 UtilTimerStack.push(interceptorMsg);
                 try {
-                                resultCode = interceptor.getInterceptor().intercept(DefaultActionInvocation.this);
-                            }
+                    resultCode = interceptorChain.getInterceptor(index).intercept(DefaultActionInvocation.this);
+                }
                 finally {
                     UtilTimerStack.pop(interceptorMsg);
                 }
@@ -259,10 +289,10 @@ public class DefaultActionInvocation implements ActionInvocation {
             // return above and flow through again
             if (!executed) {
                 if (preResultListeners != null) {
-                    for (Object preResultListener : preResultListeners) {
-                        PreResultListener listener = (PreResultListener) preResultListener;
+                    for (int i = 0; i < preResultListeners.size(); i++) {
+                        PreResultListener listener = preResultListeners.get(i);
 
-                        String _profileKey = "preResultListener: ";
+                        String _profileKey = PRE_RESULT_LISTENER_PROFILE_KEY;
                         try {
                             UtilTimerStack.push(_profileKey);
                             listener.beforeResult(this, resultCode);
@@ -407,9 +437,9 @@ public class DefaultActionInvocation implements ActionInvocation {
         invocationContext = new ActionContext(contextMap);
         invocationContext.setName(proxy.getActionName());
 
-        // get a new List so we don't get problems with the iterator if someone changes the list
-        List<InterceptorMapping> interceptorList = new ArrayList<InterceptorMapping>(proxy.getConfig().getInterceptors());
-        interceptors = interceptorList.iterator();
+        // the chain is immutable and shared by all invocations of this action config, only our position is kept here
+        interceptorChain = proxy.getConfig().getInterceptorChain();
+        interceptorIndex = 0;
     }
 
     protected String invokeAction(Object action, ActionConfig actionConfig) throws Exception {
@@ -425,27 +455,14 @@ public class DefaultActionInvocation implements ActionInvocation {
 
             boolean methodCalled = false;
             Object methodResult = null;
-            Method method = null;
-            try {
-                method = getAction().getClass().getMethod(methodName, EMPTY_CLASS_ARRAY);
-            } catch (NoSuchMethodException e) {
-                // hmm -- OK, try doXxx instead
-                try {
-                    String altMethodName = "do" + methodName.substring(0, 1).toUpperCase() + methodName.substring(1);
-                    method = getAction().getClass().getMethod(altMethodName, EMPTY_CLASS_ARRAY);
-                } catch (NoSuchMethodException e1) {
-                    // well, give the unknown handler a shot
-                    if (unknownHandlerManager.hasUnknownHandlers()) {
-                        try {
-                            methodResult = unknownHandlerManager.handleUnknownMethod(action, methodName);
-                            methodCalled = true;
-                        } catch (NoSuchMethodException e2) {
-                            // throw the original one
-                            throw e;
-                        }
-                    } else {
-                        throw e;
-                    }
+            Method method = getActionMethod(getAction().getClass(), methodName, isConfiguredMethod(actionConfig));
+            if (method == null) {
+                // well, give the unknown handler a shot
+                if (unknownHandlerManager.hasUnknownHandlers()) {
+                    methodResult = unknownHandlerManager.handleUnknownMethod(action, methodName);
+                    methodCalled = true;
+                } else {
+                    throw new NoSuchMethodException(methodName);
                 }
             }
 
@@ -476,6 +493,99 @@ public class DefaultActionInvocation implements ActionInvocation {
         }
     }
 
+    /**
+     * Resolves the method to execute on the given action class, trying <tt>doXxx</tt> when <tt>xxx</tt> doesn't exist.
+     * Found methods are cached per action class and method name so that the lookup and the exceptions it throws don't
+     * happen on each request. Not finding any method isn't cached, as the name may come from the request.
+     *
+     * @param actionClass the class of the action
+     * @param methodName  the name of the method as configured or requested
+     * @return the method to invoke or null if neither <tt>xxx</tt> nor <tt>doXxx</tt> exist
+     */
+    protected Method getActionMethod(Class actionClass, String methodName) {
+        return getActionMethod(actionClass, methodName, false);
+    }
+
+    /**
+     * Resolves the method to execute on the given action class, trying <tt>doXxx</tt> when <tt>xxx</tt> doesn't exist.
+     * Found methods are cached per action class and method name, as well as not finding the method when its name
+     * comes from the configuration. A bounded number of names is cached per action class.
+     *
+     * @param actionClass   the class of the action
+     * @param methodName    the name of the method as configured or requested
+     * @param cacheNotFound whether not finding the method is cached, only when the name can't come from the request
+     * @return the method to invoke or null if neither <tt>xxx</tt> nor <tt>doXxx</tt> exist
+     */
+    protected Method getActionMethod(Class actionClass, String methodName, boolean cacheNotFound) {
+        ConcurrentMap<String, ActionMethod> methods = ACTION_METHODS.get(actionClass);
+        if (methods == null) {
+            methods = ACTION_METHODS.putIfAbsent(actionClass, new ConcurrentHashMap<String, ActionMethod>());
+        }
+
+        ActionMethod actionMethod = methods.get(methodName);
+        if (actionMethod == null) {
+            actionMethod = new ActionMethod(resolveActionMethod(actionClass, methodName));
+            if ((actionMethod.method != null || cacheNotFound) && methods.size() < MAX_CACHED_METHODS) {
+                methods.put(methodName, actionMethod);
+            }
+        }
+        return actionMethod.method;
+    }
+
+    /**
+     * The method name comes from the configuration when it wasn't requested, and the action config was declared
+     * under this very name rather than matched by a wildcard, which could put a part of the request in the name.
+     */
+    private boolean isConfiguredMethod(ActionConfig actionConfig) {
+        if (proxy.isMethodSpecified() || configuration == null) {
+            return false;
+        }
+        String namespace = proxy.getNamespace();
+        Map<String, ActionConfig> actionConfigs =
+                configuration.getRuntimeConfiguration().getActionConfigs().get(namespace == null ? "" : namespace);
+        return actionConfigs != null && actionConfigs.get(proxy.getActionName()) == actionConfig;
+    }
+
+    private Method resolveActionMethod(Class actionClass, String methodName) {
+        try {
+            return prepareActionMethod(actionClass.getMethod(methodName, EMPTY_CLASS_ARRAY));
+        } catch (NoSuchMethodException e) {
+            // hmm -- OK, try doXxx instead
+            try {
+                String altMethodName = "do" + methodName.substring(0, 1).toUpperCase() + methodName.substring(1);
+                return prepareActionMethod(actionClass.getMethod(altMethodName, EMPTY_CLASS_ARRAY));
+            } catch (NoSuchMethodException e1) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Neither " + methodName + "() nor its doXxx() variant is defined in action " + actionClass);
+                }
+                return null;
+            }
+        }
+    }
+
+    private Method prepareActionMethod(Method method) {
+        try {
+            // skip the access checks on each invocation, the method is public anyway
+            method.setAccessible(true);
+        } catch (SecurityException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot suppress access checks for action method " + method, e);
+            }
+        }
+        return method;
+    }
+
+    /**
+     * Outcome of an action method lookup, <tt>method</tt> is null when no method was found
+     */
+    private static final class ActionMethod {
+        private final Method method;
+
+        ActionMethod(Method method) {
+            this.method = method;
+        }
+    }
+
     /**
      * Save the result to be used later.
      * @param actionConfig
@@ -41,11 +41,12 @@ public class ConfigurationManager {
 
     protected static final Logger LOG = LoggerFactory.getLogger(ConfigurationManager.class);
 
-    protected Configuration configuration;//配置元素的管理器
+    protected volatile Configuration configuration;//配置元素的管理器
     protected Lock providerLock = new ReentrantLock();//锁对象，防并发
     private List<ContainerProvider> containerProviders = new CopyOnWriteArrayList<ContainerProvider>();//装载创建的xml加载器的List集合
     private List<PackageProvider> packageProviders = new CopyOnWriteArrayList<PackageProvider>();
     protected String defaultFrameworkBeanName;//"xwork"
+    private volatile ReloadWatcher reloadWatcher;
 
     public ConfigurationManager() {
         this("xwork");
@@ -60,23 +61,30 @@ public class ConfigurationManager {
      * 获取当前的XWork configuration对象，若containerProviders list属性不为空，则创建该list中的configuration对象，否则创建默认对象
      * @see com.opensymphony.xwork2.config.impl.DefaultConfiguration
      */
-    public synchronized Configuration getConfiguration() {
-        if (configuration == null) {
-            //1.1、---------若配置元素的管理器为空，则创建一个默认为“xwork”名称的管理器
-            setConfiguration(createConfiguration(defaultFrameworkBeanName));
-            try {
-                //2、---------将containerProviders list属性中的容器provider配置真正加载进容器管理器中
-                configuration.reloadContainer(getContainerProviders());
-            } catch (ConfigurationException e) {
-                setConfiguration(null);
-                throw new ConfigurationException("Unable to load configuration.", e);
+    public Configuration getConfiguration() {
+        Configuration config = configuration;
+        if (config == null) {
+            synchronized (this) {
+                if (configuration == null) {
+                    //1.1、---------若配置元素的管理器为空，则创建一个默认为“xwork”名称的管理器
+                    Configuration newConfiguration = createConfiguration(defaultFrameworkBeanName);
+                    try {
+                        //2、---------将containerProviders list属性中的容器provider配置真正加载进容器管理器中
+                        newConfiguration.reloadContainer(getContainerProviders());
+                    } catch (ConfigurationException e) {
+                        throw new ConfigurationException("Unable to load configuration.", e);
+                    }
+                    setConfiguration(newConfiguration);
+                }
+                config = configuration;
             }
-        } else {
+        } else if (!isReloadWatcherRunning()) {
             //1.2、----------若配置元素的管理器不为空，则直接重新加载配置管理容器
             conditionalReload();
+            config = configuration;
         }
 
-        return configuration;
+        return config;
     }
 
     protected Configuration createConfiguration(String beanName) {
@@ -215,6 +223,7 @@ public class ConfigurationManager {
      * Destroy its managing Configuration instance
      */
     public synchronized void destroyConfiguration() {
+        stopReloadWatcher();
         clearContainerProviders(); // let's destroy the ConfigurationProvider first
         containerProviders = new CopyOnWriteArrayList<ContainerProvider>();
         if (configuration != null)
@@ -226,58 +235,165 @@ public class ConfigurationManager {
     /**
      * Reloads the Configuration files if the configuration files indicate that they need to be reloaded.
      */
-    public synchronized void conditionalReload() {
+    public void conditionalReload() {
         if (FileManager.isReloadingConfigs()) {
-            boolean reload;
+            synchronized (this) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Checking ConfigurationProviders for reload.");
+                }
 
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Checking ConfigurationProviders for reload.");
+                List<ContainerProvider> providers = getContainerProviders();
+                if (needsReload(providers)) {
+                    destroyContainerProviders();
+                    packageProviders = configuration.reloadContainer(providers);
+                }
             }
+        }
+    }
+    
+    public synchronized void reload() {
+        packageProviders = getConfiguration().reloadContainer(getContainerProviders());
+    }
+
+    /**
+     * Starts a background thread which checks the providers for changes every <tt>interval</tt> milliseconds.
+     * While it runs, {@link #getConfiguration()} doesn't check the providers anymore, changed configurations
+     * are built into a new Configuration by the watcher and then swapped in, so requests always see either the
+     * old or the new configuration and never wait for a reload.
+     *
+     * @param interval the number of milliseconds between two checks
+     */
+    public synchronized void startReloadWatcher(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Reload watcher interval must be positive, was " + interval);
+        }
+        stopReloadWatcher();
+        reloadWatcher = new ReloadWatcher(interval);
+        reloadWatcher.start();
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Started configuration reload watcher, checking providers every " + interval + "ms");
+        }
+    }
+
+    /**
+     * Stops the background reload thread started by {@link #startReloadWatcher(long)}, if any.
+     */
+    public synchronized void stopReloadWatcher() {
+        if (reloadWatcher != null) {
+            reloadWatcher.stop();
+            reloadWatcher = null;
+        }
+    }
+
+    public boolean isReloadWatcherRunning() {
+        return reloadWatcher != null;
+    }
+
+    /**
+     * Checks the providers for changes and, if any changed, builds a new Configuration off the request path and
+     * publishes it once complete. The providers are shared with the current Configuration and are destroyed before
+     * being reloaded, so, as with {@link #conditionalReload()}, a failed reload isn't recovered from: the exception is
+     * thrown and the current Configuration stays published without its providers.
+     *
+     * @throws ConfigurationException if the new Configuration cannot be built
+     */
+    protected synchronized void reloadInBackground() throws ConfigurationException {
+        if (configuration == null || !FileManager.isReloadingConfigs()) {
+            return;
+        }
+        List<ContainerProvider> providers = getContainerProviders();
+        if (needsReload(providers)) {
+            destroyContainerProviders();
+            Configuration newConfiguration = createConfiguration(defaultFrameworkBeanName);
+            List<PackageProvider> newPackageProviders = newConfiguration.reloadContainer(providers);
+            setConfiguration(newConfiguration);
+            packageProviders = newPackageProviders;
+        }
+    }
+
+    private boolean needsReload(List<ContainerProvider> providers) {
+        boolean reload = false;
+
+        for (ContainerProvider provider : providers) {
+            if (provider.needsReload()) {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Detected container provider "+provider+" needs to be reloaded.  Reloading all providers.");
+                }
+                reload = true;
 
-            reload = false;
+                //break;
+            }
+        }
 
-            List<ContainerProvider> providers = getContainerProviders();
-            for (ContainerProvider provider : providers) {
+        if (packageProviders != null && reload) {
+            for (PackageProvider provider : packageProviders) {
                 if (provider.needsReload()) {
                     if (LOG.isInfoEnabled()) {
-                        LOG.info("Detected container provider "+provider+" needs to be reloaded.  Reloading all providers.");
+                        LOG.info("Detected package provider "+provider+" needs to be reloaded.  Reloading all providers.");
                     }
                     reload = true;
 
                     //break;
                 }
             }
-            
-            if (packageProviders != null && reload) {
-                for (PackageProvider provider : packageProviders) {
-                    if (provider.needsReload()) {
-                        if (LOG.isInfoEnabled()) {
-                            LOG.info("Detected package provider "+provider+" needs to be reloaded.  Reloading all providers.");
-                        }
-                        reload = true;
-    
-                        //break;
-                    }
+        }
+        return reload;
+    }
+
+    private void destroyContainerProviders() {
+        for (ContainerProvider containerProvider : containerProviders) {
+            try {
+                containerProvider.destroy();
+            }
+            catch(Exception e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("error while destroying configuration provider ["+containerProvider+"]", e);
                 }
             }
+        }
+    }
 
-            if (reload) {
-            	for (ContainerProvider containerProvider : containerProviders) {
-                	try {
-                		containerProvider.destroy();
-                	}
-                	catch(Exception e) {
-                            if (LOG.isWarnEnabled()) {
-                		LOG.warn("error while destroying configuration provider ["+containerProvider+"]", e);
-                            }
-                	}
+    /**
+     * Periodically checks the providers and reloads the configuration when they changed
+     */
+    private class ReloadWatcher implements Runnable {
+
+        private final long interval;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        ReloadWatcher(long interval) {
+            this.interval = interval;
+            this.thread = new Thread(this, "xwork-configuration-reload-watcher");
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        public void run() {
+            while (running) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (running) {
+                    try {
+                        reloadInBackground();
+                    } catch (Exception e) {
+                        if (LOG.isErrorEnabled()) {
+                            LOG.error("Unable to reload configuration", e);
+                        }
+                    }
                 }
-                packageProviders = configuration.reloadContainer(providers);
             }
         }
-    }
-    
-    public synchronized void reload() {
-        packageProviders = getConfiguration().reloadContainer(getContainerProviders());
+
+        void stop() {
+            running = false;
+            thread.interrupt();
+        }
     }
 }
@@ -60,6 +60,7 @@ public class ActionConfig extends Located implements Serializable {
     protected String packageName;
     protected String name;
     protected Set<String> allowedMethods;
+    protected InterceptorChain interceptorChain;
 
     protected ActionConfig(String packageName, String name, String className) {
         this.packageName = packageName;
@@ -105,6 +106,20 @@ public class ActionConfig extends Located implements Serializable {
         return interceptors;
     }
 
+    /**
+     * Returns the interceptors compiled into an immutable chain, built once when the config is built
+     *
+     * @return the interceptor chain of this action
+     */
+    public InterceptorChain getInterceptorChain() {
+        InterceptorChain chain = interceptorChain;
+        if (chain == null) {
+            chain = new InterceptorChain(interceptors);
+            interceptorChain = chain;
+        }
+        return chain;
+    }
+
     public Set<String> getAllowedMethods() {
         return allowedMethods;
     }
@@ -350,6 +365,7 @@ public class ActionConfig extends Located implements Serializable {
             target.params = Collections.unmodifiableMap(target.params);
             target.results = Collections.unmodifiableMap(target.results);
             target.interceptors = Collections.unmodifiableList(target.interceptors);
+            target.interceptorChain = new InterceptorChain(target.interceptors);
             target.exceptionMappings = Collections.unmodifiableList(target.exceptionMappings);
             target.allowedMethods = Collections.unmodifiableSet(target.allowedMethods);
         }
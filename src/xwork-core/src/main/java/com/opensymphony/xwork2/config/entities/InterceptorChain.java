@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.config.entities;
+
+import com.opensymphony.xwork2.interceptor.Interceptor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * <code>InterceptorChain</code> is the immutable, precompiled form of the interceptors of an {@link ActionConfig}.
+ * It is built once per action config and walked by index on each invocation, so the interceptor list doesn't need
+ * to be copied and the profiling keys don't need to be rebuilt on every request.
+ *
+ * @see ActionConfig#getInterceptorChain()
+ */
+public class InterceptorChain implements Serializable {
+
+    private static final long serialVersionUID = 4806233580447612397L;
+
+    private static final String PROFILE_KEY_PREFIX = "interceptor: ";
+
+    private final InterceptorMapping[] mappings;
+    private final Interceptor[] interceptors;
+    private final String[] profileKeys;
+
+    public InterceptorChain(List<InterceptorMapping> interceptorMappings) {
+        int size = interceptorMappings.size();
+        this.mappings = interceptorMappings.toArray(new InterceptorMapping[size]);
+        this.interceptors = new Interceptor[size];
+        this.profileKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            interceptors[i] = mappings[i].getInterceptor();
+            profileKeys[i] = PROFILE_KEY_PREFIX + mappings[i].getName();
+        }
+    }
+
+    /**
+     * @return the number of interceptors in the chain
+     */
+    public int size() {
+        return mappings.length;
+    }
+
+    public InterceptorMapping getMapping(int index) {
+        return mappings[index];
+    }
+
+    public Interceptor getInterceptor(int index) {
+        return interceptors[index];
+    }
+
+    /**
+     * @return the key under which the interceptor at the given position is profiled
+     */
+    public String getProfileKey(int index) {
+        return profileKeys[index];
+    }
+}
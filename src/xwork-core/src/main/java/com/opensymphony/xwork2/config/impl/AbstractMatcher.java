@@ -18,6 +18,7 @@
 package com.opensymphony.xwork2.config.impl;
 
 import com.opensymphony.xwork2.util.PatternMatcher;
+import com.opensymphony.xwork2.util.WildcardHelper;
 import com.opensymphony.xwork2.util.logging.Logger;
 import com.opensymphony.xwork2.util.logging.LoggerFactory;
 
@@ -31,6 +32,8 @@ import org.apache.commons.lang.math.NumberUtils;
  * target objects. It uses the wildcard matcher from the Apache Cocoon
  * project. Patterns will be matched in the order they were added. The first 
  * match wins, so more specific patterns should be defined before less specific 
+ * patterns. Only the patterns whose literal start and end fit the path are
+ * tried, they are found by walking the path once through an index of all the
  * patterns.
  * 
  * @since 2.1
@@ -50,6 +53,11 @@ public abstract class AbstractMatcher<E> implements Serializable {
      * <p> The compiled patterns and their associated target objects </p>
      */
     List<Mapping<E>> compiledPatterns = new ArrayList<Mapping<E>>();;
+
+    /**
+     * <p> Selects the patterns worth trying for a path, built on the first match </p>
+     */
+    private transient volatile PatternIndex index;
     
     public AbstractMatcher(PatternMatcher<?> helper) {
         this.wildcard = (PatternMatcher<Object>) helper;
@@ -99,11 +107,13 @@ public abstract class AbstractMatcher<E> implements Serializable {
                     }
                 }
             }
+            index = null;
         }
     }
     
     public void freeze() {
         compiledPatterns = Collections.unmodifiableList(new ArrayList<Mapping<E>>());
+        index = null;
     }
 
     /**
@@ -123,7 +133,11 @@ public abstract class AbstractMatcher<E> implements Serializable {
             }
 
             Map<String,String> vars = new LinkedHashMap<String,String>();
-            for (Mapping<E> m : compiledPatterns) {
+            PatternIndex patternIndex = getIndex();
+            BitSet candidates = patternIndex.findCandidates(potentialMatch);
+            // the candidates are tried in the order the patterns were added
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                Mapping<E> m = patternIndex.getMapping(i);
                 if (wildcard.match(vars, potentialMatch, m.getPattern())) {
                     if (log.isDebugEnabled()) {
                         log.debug("Value matches pattern '"
@@ -140,6 +154,32 @@ public abstract class AbstractMatcher<E> implements Serializable {
         return config;
     }
 
+    private PatternIndex getIndex() {
+        PatternIndex patternIndex = index;
+        if (patternIndex == null) {
+            patternIndex = new PatternIndex(compiledPatterns);
+            index = patternIndex;
+        }
+        return patternIndex;
+    }
+
+    /**
+     * <p> Gets the characters a path must start or end with to match the
+     * pattern, as far as they are known from the pattern matcher. </p>
+     *
+     * @param pattern The compiled pattern
+     * @param prefix  True for the start, false for the end
+     * @return The literal characters, empty if unknown
+     */
+    private String getLiteral(Object pattern, boolean prefix) {
+        Object matcher = wildcard;
+        if (matcher instanceof WildcardHelper && pattern instanceof int[]) {
+            WildcardHelper helper = (WildcardHelper) matcher;
+            return prefix ? helper.getLiteralPrefix((int[]) pattern) : helper.getLiteralSuffix((int[]) pattern);
+        }
+        return "";
+    }
+
     /**
      * <p> Clones the target object and its children, replacing various
      * properties with the values of the wildcard-matched strings. </p>
@@ -275,4 +315,77 @@ public abstract class AbstractMatcher<E> implements Serializable {
             return this.original;
         }
     }
+
+    /**
+     * <p> Indexes the compiled patterns by their literal prefix and suffix in
+     * two character tries, the patterns which can match a path are found by
+     * walking the path once from each end. </p>
+     */
+    private final class PatternIndex {
+
+        private final List<Mapping<E>> mappings;
+        private final Node prefixes = new Node();
+        private final Node suffixes = new Node();
+
+        PatternIndex(List<Mapping<E>> mappings) {
+            this.mappings = new ArrayList<Mapping<E>>(mappings);
+            for (int i = 0; i < this.mappings.size(); i++) {
+                Object pattern = this.mappings.get(i).getPattern();
+                add(prefixes, getLiteral(pattern, true), false, i);
+                add(suffixes, getLiteral(pattern, false), true, i);
+            }
+        }
+
+        Mapping<E> getMapping(int i) {
+            return mappings.get(i);
+        }
+
+        /**
+         * @param path The path to match
+         * @return The indexes of the patterns starting and ending like the path
+         */
+        BitSet findCandidates(String path) {
+            BitSet candidates = collect(prefixes, path, false);
+            candidates.and(collect(suffixes, path, true));
+            return candidates;
+        }
+
+        private void add(Node root, String literal, boolean reverse, int i) {
+            Node node = root;
+            int length = literal.length();
+            for (int x = 0; x < length; x++) {
+                char c = literal.charAt(reverse ? length - 1 - x : x);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.patterns.set(i);
+        }
+
+        private BitSet collect(Node root, String path, boolean reverse) {
+            BitSet result = (BitSet) root.patterns.clone();
+            Node node = root;
+            int length = path.length();
+            for (int x = 0; x < length && !node.children.isEmpty(); x++) {
+                node = node.children.get(path.charAt(reverse ? length - 1 - x : x));
+                if (node == null) {
+                    break;
+                }
+                result.or(node.patterns);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * <p> A character of the literal prefixes or suffixes and the patterns
+     * ending there. </p>
+     */
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<Character, Node>();
+        final BitSet patterns = new BitSet();
+    }
 }
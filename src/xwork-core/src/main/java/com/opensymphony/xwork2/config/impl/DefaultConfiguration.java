@@ -41,7 +41,10 @@ import com.opensymphony.xwork2.util.logging.LoggerFactory;
 import com.opensymphony.xwork2.util.reflection.ReflectionProvider;
 import ognl.PropertyAccessor;
 
+import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -57,7 +60,7 @@ public class DefaultConfiguration implements Configuration {
 
     // Programmatic Action Configurations
     protected Map<String, PackageConfig> packageContexts = new LinkedHashMap<String, PackageConfig>();
-    protected RuntimeConfiguration runtimeConfiguration;
+    protected volatile RuntimeConfiguration runtimeConfiguration;
     protected Container container;
     protected String defaultFrameworkBeanName;
     protected Set<String> loadedFileNames = new TreeSet<String>();
@@ -380,25 +383,38 @@ public class DefaultConfiguration implements Configuration {
 
 
     private class RuntimeConfigurationImpl implements RuntimeConfiguration {
-        private Map<String, Map<String, ActionConfig>> namespaceActionConfigs;
-        private Map<String, ActionConfigMatcher> namespaceActionConfigMatchers;
-        private NamespaceMatcher namespaceMatcher;
-        private Map<String, String> namespaceConfigs;
+
+        /**
+         * Upper bound for the resolved action cache, once reached the cache is emptied and starts over so that
+         * arbitrary request names (misses included) cannot grow it forever
+         */
+        private static final int MAX_RESOLVED_ACTION_CONFIGS = 1024;
+
+        private final Map<String, Map<String, ActionConfig>> namespaceActionConfigs;
+        private final Map<String, ActionConfigMatcher> namespaceActionConfigMatchers;
+        private final NamespaceMatcher namespaceMatcher;
+        private final Map<String, String> namespaceConfigs;
+        private final ConcurrentMap<ActionKey, Object> resolvedActionConfigs = new ConcurrentHashMap<ActionKey, Object>();
 
         public RuntimeConfigurationImpl(Map<String, Map<String, ActionConfig>> namespaceActionConfigs, Map<String, String> namespaceConfigs) {
-            this.namespaceActionConfigs = namespaceActionConfigs;
-            this.namespaceConfigs = namespaceConfigs;
+            Map<String, Map<String, ActionConfig>> actionConfigs = new LinkedHashMap<String, Map<String, ActionConfig>>();
+            for (Map.Entry<String, Map<String, ActionConfig>> entry : namespaceActionConfigs.entrySet()) {
+                actionConfigs.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+            }
+            this.namespaceActionConfigs = Collections.unmodifiableMap(actionConfigs);
+            this.namespaceConfigs = Collections.unmodifiableMap(namespaceConfigs);
 
             PatternMatcher<int[]> matcher = container.getInstance(PatternMatcher.class);
 
-            this.namespaceActionConfigMatchers = new LinkedHashMap<String, ActionConfigMatcher>();
+            Map<String, ActionConfigMatcher> matchers = new LinkedHashMap<String, ActionConfigMatcher>();
             this.namespaceMatcher = new NamespaceMatcher(matcher, namespaceActionConfigs.keySet());
 
             for (String ns : namespaceActionConfigs.keySet()) {
-                namespaceActionConfigMatchers.put(ns,
+                matchers.put(ns,
                         new ActionConfigMatcher(matcher,
                                 namespaceActionConfigs.get(ns), true));
             }
+            this.namespaceActionConfigMatchers = Collections.unmodifiableMap(matchers);
         }
 
 
@@ -406,11 +422,40 @@ public class DefaultConfiguration implements Configuration {
          * Gets the configuration information for an action name, or returns null if the
          * name is not recognized.
          *
+         * <p>
+         * The runtime configuration is never modified once built, so lookups don't need any locking. Names that
+         * aren't directly declared in the namespace (wildcards, wildcard namespaces, default actions and the
+         * fail over to the empty namespace) are resolved once and remembered, misses included.
+         * </p>
+         *
          * @param name      the name of the action
          * @param namespace the namespace for the action or null for the empty namespace, ""
          * @return the configuration information for action requested
          */
-        public synchronized ActionConfig getActionConfig(String namespace, String name) {
+        public ActionConfig getActionConfig(String namespace, String name) {
+            Map<String, ActionConfig> actions = namespaceActionConfigs.get(namespace == null ? "" : namespace);
+            if (actions != null) {
+                ActionConfig config = actions.get(name);
+                if (config != null) {
+                    return config;
+                }
+            }
+
+            ActionKey key = new ActionKey(namespace, name);
+            Object resolved = resolvedActionConfigs.get(key);
+            if (resolved == null) {
+                ActionConfig config = resolveActionConfig(namespace, name);
+                resolved = (config != null) ? config : NOT_FOUND;
+                if (resolvedActionConfigs.size() >= MAX_RESOLVED_ACTION_CONFIGS) {
+                    resolvedActionConfigs.clear();
+                }
+                resolvedActionConfigs.put(key, resolved);
+            }
+
+            return (resolved == NOT_FOUND) ? null : (ActionConfig) resolved;
+        }
+
+        private ActionConfig resolveActionConfig(String namespace, String name) {
             ActionConfig config = findActionConfigInNamespace(namespace, name);
 
             // try wildcarded namespaces
@@ -465,7 +510,7 @@ public class DefaultConfiguration implements Configuration {
          *
          * @return a Map of namespace - > Map of ActionConfig objects, with the key being the action name
          */
-        public synchronized Map<String, Map<String, ActionConfig>>  getActionConfigs() {
+        public Map<String, Map<String, ActionConfig>>  getActionConfigs() {
             return namespaceActionConfigs;
         }
 
@@ -485,6 +530,47 @@ public class DefaultConfiguration implements Configuration {
         }
     }
 
+    /**
+     * Marks a name which has been resolved without finding any action config
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Key of the resolved action cache, the namespace is kept as requested (null included) as the resolution
+     * rules treat null and blank namespaces differently
+     */
+    private static final class ActionKey implements Serializable {
+        private static final long serialVersionUID = 2958186745962711437L;
+
+        private final String namespace;
+        private final String name;
+        private final int hashCode;
+
+        ActionKey(String namespace, String name) {
+            this.namespace = namespace;
+            this.name = name;
+            this.hashCode = 31 * (namespace != null ? namespace.hashCode() : 0) + (name != null ? name.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ActionKey)) {
+                return false;
+            }
+            ActionKey other = (ActionKey) o;
+            return (namespace != null ? namespace.equals(other.namespace) : other.namespace == null)
+                    && (name != null ? name.equals(other.name) : other.name == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     class ContainerProperties extends LocatableProperties {
         private static final long serialVersionUID = -7320625750836896089L;
 
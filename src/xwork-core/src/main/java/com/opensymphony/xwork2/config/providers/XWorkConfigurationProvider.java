@@ -21,6 +21,7 @@ import com.opensymphony.xwork2.inject.Scope;
 import com.opensymphony.xwork2.ognl.ObjectProxy;
 import com.opensymphony.xwork2.ognl.OgnlReflectionContextFactory;
 import com.opensymphony.xwork2.ognl.OgnlReflectionProvider;
+import com.opensymphony.xwork2.ognl.OgnlExpressionMetrics;
 import com.opensymphony.xwork2.ognl.OgnlUtil;
 import com.opensymphony.xwork2.ognl.OgnlValueStackFactory;
 import com.opensymphony.xwork2.ognl.accessor.CompoundRootAccessor;
@@ -111,10 +112,17 @@ public class XWorkConfigurationProvider implements ConfigurationProvider {
                 .factory(TextProvider.class, "system", DefaultTextProvider.class, Scope.SINGLETON)
                 .factory(TextProvider.class, TextProviderSupport.class, Scope.SINGLETON)
                 .factory(OgnlUtil.class, Scope.SINGLETON)
+                .factory(OgnlExpressionMetrics.class, Scope.SINGLETON)
                 .factory(XWorkBasicConverter.class, Scope.SINGLETON);
         props.setProperty("devMode", Boolean.FALSE.toString());
         props.setProperty("logMissingProperties", Boolean.FALSE.toString());
         props.setProperty("enableOGNLExpressionCache", Boolean.TRUE.toString());
+        props.setProperty("ognlExpressionCacheMaxSize", String.valueOf(OgnlUtil.DEFAULT_EXPRESSION_CACHE_MAX_SIZE));
+        props.setProperty("compileOGNLExpressions", Boolean.FALSE.toString());
+        props.setProperty("compileOGNLExpressionsThreshold", String.valueOf(OgnlUtil.DEFAULT_COMPILE_THRESHOLD));
+        props.setProperty("ognlExpressionMetrics", Boolean.FALSE.toString());
+        props.setProperty("ognlExpressionMetricsSampleRate", String.valueOf(OgnlExpressionMetrics.DEFAULT_SAMPLE_RATE));
+        props.setProperty("ognlExpressionMetricsMaxExpressions", String.valueOf(OgnlExpressionMetrics.DEFAULT_MAX_EXPRESSIONS));
     }
 
 }
@@ -21,6 +21,8 @@ import com.opensymphony.xwork2.XWorkException;
 import com.opensymphony.xwork2.conversion.ObjectTypeDeterminer;
 import com.opensymphony.xwork2.conversion.TypeConverter;
 import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
+import com.opensymphony.xwork2.util.BoundedCache;
 import com.opensymphony.xwork2.util.XWorkList;
 
 import java.lang.reflect.Array;
@@ -55,6 +57,10 @@ import org.apache.commons.lang.StringUtils;
  * conversion error reporting is used to indicate a problem occured while processing the type conversion.
  * <p/>
  * <!-- END SNIPPET: javadoc -->
+ * <p/>
+ * Invalid numbers, dates and enum names are detected without throwing any exception, see
+ * {@link #tryConvertValue(Map, Object, Member, String, Object, Class)}. The number and date formats of each locale are
+ * created once and copied for each conversion, as they aren't thread safe.
  *
  * @author <a href="mailto:plightbo@gmail.com">Pat Lightbody</a>
  * @author Mike Mosiewicz
@@ -64,11 +70,22 @@ import org.apache.commons.lang.StringUtils;
 public class XWorkBasicConverter extends DefaultTypeConverter {
 
     private static String MILLISECOND_FORMAT = ".SSS";
-    
+
+    private static final int MAX_CACHED_LOCALES = 100;
+
+    private static final BoundedCache.Loader<Locale, LocaleFormats, RuntimeException> FORMATS_CREATOR = new BoundedCache.Loader<Locale, LocaleFormats, RuntimeException>() {
+        public LocaleFormats load(Locale locale) {
+            return new LocaleFormats(locale);
+        }
+    };
+
     private ObjectTypeDeterminer objectTypeDeterminer;
     private XWorkConverter xworkConverter;
     private ObjectFactory objectFactory;
 
+    private final BoundedCache<Locale, LocaleFormats> formats = new BoundedCache<Locale, LocaleFormats>(MAX_CACHED_LOCALES);
+    private final ClassMetadataCache<Map<String, Enum>> enumConstants = new ClassMetadataCache<Map<String, Enum>>("enumConstants");
+
     @Inject
     public void setObjectTypeDeterminer(ObjectTypeDeterminer det) {
         this.objectTypeDeterminer = det;
@@ -86,6 +103,21 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
 
     @Override
     public Object convertValue(Map<String, Object> context, Object o, Member member, String s, Object value, Class toType) {
+        Object result = tryConvertValue(context, o, member, s, value, toType);
+        if (result == NO_CONVERSION_POSSIBLE) {
+            throw new XWorkException("Cannot create type " + toType + " from value " + value);
+        }
+        return result;
+    }
+
+    /**
+     * Converts the value like {@link #convertValue(Map, Object, Member, String, Object, Class)}, but returns
+     * {@link TypeConverter#NO_CONVERSION_POSSIBLE} rather than throwing an exception when the value is invalid, so that
+     * requests full of invalid values don't cost an exception per value.
+     *
+     * @return the converted value, or {@link TypeConverter#NO_CONVERSION_POSSIBLE} if the value is invalid
+     */
+    public Object tryConvertValue(Map<String, Object> context, Object o, Member member, String s, Object value, Class toType) {
         Object result = null;
 
         if (value == null || toType.isAssignableFrom(value.getClass())) {
@@ -114,12 +146,14 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
         } else if (Date.class.isAssignableFrom(toType)) {
             result = doConvertToDate(context, value, toType);
         } else if (Calendar.class.isAssignableFrom(toType)) {
-            Date dateResult = (Date) doConvertToDate(context, value, Date.class);
-            if (dateResult != null) {
+            Object dateResult = doConvertToDate(context, value, Date.class);
+            if (dateResult instanceof Date) {
                 Calendar calendar = Calendar.getInstance();
-                calendar.setTime(dateResult);
+                calendar.setTime((Date) dateResult);
                 result = calendar;
-            } 
+            } else {
+                result = dateResult;
+            }
         } else if (Collection.class.isAssignableFrom(toType)) {
             result = doConvertToCollection(context, o, member, s, value, toType);
         } else if (toType == Character.class) {
@@ -130,6 +164,8 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
             result = doConvertToNumber(context, value, toType);
         } else if (toType == Class.class) {
             result = doConvertToClass(value);
+        } else if (toType.isEnum() && value instanceof String) {
+            result = doConvertToEnum((String) value, toType);
         }
 
         if (result == null) {
@@ -143,13 +179,13 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
                 }
 
                 // let's try to convert the first element only
-                result = convertValue(context, o, member, s, value, toType);
+                result = tryConvertValue(context, o, member, s, value, toType);
             } else if (!"".equals(value)) { // we've already tried the types we know
                 result = super.convertValue(context, value, toType);
             }
 
             if (result == null && value != null && !"".equals(value)) {
-                throw new XWorkException("Cannot create type " + toType + " from value " + value);
+                return NO_CONVERSION_POSSIBLE;
             }
         }
 
@@ -170,6 +206,10 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
         return locale;
     }
 
+    private LocaleFormats getFormats(Map<String, Object> context) {
+        return formats.get(getLocale(context), FORMATS_CREATOR);
+    }
+
     /**
      * Creates a Collection of the specified type.
      *
@@ -257,6 +297,24 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
         return null;
     }
 
+    private Object doConvertToEnum(String value, Class toType) {
+        if (value.length() == 0) {
+            return null;
+        }
+
+        Map<String, Enum> constants = enumConstants.get(toType);
+        if (constants == null) {
+            constants = new HashMap<String, Enum>();
+            for (Object constant : toType.getEnumConstants()) {
+                constants.put(((Enum) constant).name(), (Enum) constant);
+            }
+            constants = enumConstants.putIfAbsent(toType, constants);
+        }
+
+        Enum result = constants.get(value);
+        return (result == null) ? NO_CONVERSION_POSSIBLE : result;
+    }
+
     private Class doConvertToClass(Object value) {
         Class clazz = null;
 
@@ -316,65 +374,32 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
 
         if (value instanceof String && value != null && ((String) value).length() > 0) {
             String sa = (String) value;
-            Locale locale = getLocale(context);
+            LocaleFormats localeFormats = getFormats(context);
 
             DateFormat df = null;
             if (java.sql.Time.class == toType) {
-                df = DateFormat.getTimeInstance(DateFormat.MEDIUM, locale);
+                df = copy(localeFormats.time);
             } else if (java.sql.Timestamp.class == toType) {
-                Date check = null;
-                SimpleDateFormat dtfmt = (SimpleDateFormat) DateFormat.getDateTimeInstance(DateFormat.SHORT,
-                        DateFormat.MEDIUM,
-                        locale);
-                SimpleDateFormat fullfmt = new SimpleDateFormat(dtfmt.toPattern() + MILLISECOND_FORMAT,
-                        locale);
-
-                SimpleDateFormat dfmt = (SimpleDateFormat) DateFormat.getDateInstance(DateFormat.SHORT,
-                        locale);
-
-                SimpleDateFormat[] fmts = {fullfmt, dtfmt, dfmt};
-                for (SimpleDateFormat fmt : fmts) {
-                    try {
-                        check = fmt.parse(sa);
-                        df = fmt;
-                        if (check != null) {
-                            break;
-                        }
-                    } catch (ParseException ignore) {
-                    }
-                }
+                df = findParsingFormat(localeFormats.timestampParsers, sa);
             } else if (java.util.Date.class == toType) {
-                Date check = null;
-                DateFormat[] dfs = getDateFormats(locale);
-                for (DateFormat df1 : dfs) {
-                    try {
-                        check = df1.parse(sa);
-                        df = df1;
-                        if (check != null) {
-                            break;
-                        }
-                    }
-                    catch (ParseException ignore) {
-                    }
-                }
+                df = findParsingFormat(localeFormats.dateParsers, sa);
             }
             //final fallback for dates without time
             if (df == null) {
-                df = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+                df = copy(localeFormats.shortDate);
             }
-            try {
-                df.setLenient(false); // let's use strict parsing (XW-341)
-                result = df.parse(sa);
-                if (!(Date.class == toType)) {
-                    try {
-                        Constructor constructor = toType.getConstructor(new Class[]{long.class});
-                        return constructor.newInstance(new Object[]{Long.valueOf(result.getTime())});
-                    } catch (Exception e) {
-                        throw new XWorkException("Couldn't create class " + toType + " using default (long) constructor", e);
-                    }
+            df.setLenient(false); // let's use strict parsing (XW-341)
+            result = parse(df, sa);
+            if (result == null) {
+                return NO_CONVERSION_POSSIBLE;
+            }
+            if (!(Date.class == toType)) {
+                try {
+                    Constructor constructor = toType.getConstructor(new Class[]{long.class});
+                    return constructor.newInstance(new Object[]{Long.valueOf(result.getTime())});
+                } catch (Exception e) {
+                    throw new XWorkException("Couldn't create class " + toType + " using default (long) constructor", e);
                 }
-            } catch (ParseException e) {
-                throw new XWorkException("Could not parse date", e);
             }
         } else if (Date.class.isAssignableFrom(value.getClass())) {
             result = (Date) value;
@@ -382,7 +407,30 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
         return result;
     }
 
-    private DateFormat[] getDateFormats(Locale locale) {
+    /**
+     * @return a copy of the first format able to parse the date, or <tt>null</tt> if none can
+     */
+    private DateFormat findParsingFormat(DateFormat[] dfs, String date) {
+        for (DateFormat prototype : dfs) {
+            DateFormat df = copy(prototype);
+            if (parse(df, date) != null) {
+                return df;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the date like {@link DateFormat#parse(String)}, but returns <tt>null</tt> instead of throwing a
+     * ParseException.
+     */
+    private static Date parse(DateFormat df, String date) {
+        ParsePosition parsePos = new ParsePosition(0);
+        Date result = df.parse(date, parsePos);
+        return (parsePos.getIndex() == 0) ? null : result;
+    }
+
+    private static DateFormat[] getDateFormats(Locale locale) {
         DateFormat dt1 = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.LONG, locale);
         DateFormat dt2 = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM, locale);
         DateFormat dt3 = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
@@ -397,41 +445,53 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
         return dfs;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T extends Format> T copy(T format) {
+        return (T) format.clone();
+    }
+
     private Object doConvertToNumber(Map<String, Object> context, Object value, Class toType) {
         if (value instanceof String) {
+            String stringValue = (String) value;
             if (toType == BigDecimal.class) {
-                return new BigDecimal((String) value);
+                BigDecimal number = parseBigDecimal(stringValue);
+                return (number == null) ? NO_CONVERSION_POSSIBLE : number;
             } else if (toType == BigInteger.class) {
-                return new BigInteger((String) value);
+                BigInteger number = parseBigInteger(stringValue);
+                return (number == null) ? NO_CONVERSION_POSSIBLE : number;
             } else if (toType.isPrimitive()) {
-                Object convertedValue = super.convertValue(context, value, toType);
-                String stringValue = (String) value;
-                if (!isInRange((Number)convertedValue, stringValue,  toType))
-                        throw new XWorkException("Overflow or underflow casting: \"" + stringValue + "\" into class " + convertedValue.getClass().getName());
+                stringValue = stringValue.trim();
+                Number number;
+                if (isIntegerType(toType)) {
+                    number = parseLong(stringValue);
+                } else {
+                    number = (stringValue.length() == 0) ? new Double(0.0) : parseDouble(stringValue);
+                }
+                if (number == null || !isInRange(number, stringValue, toType)) {
+                    return NO_CONVERSION_POSSIBLE;
+                }
 
-                return convertedValue;
+                return super.convertValue(context, number, toType);
             } else {
-                String stringValue = (String) value;
-                if (!toType.isPrimitive() && (stringValue == null || stringValue.length() == 0)) {
+                if (stringValue.length() == 0) {
                     return null;
                 }
-                NumberFormat numFormat = NumberFormat.getInstance(getLocale(context));
-                ParsePosition parsePos = new ParsePosition(0);
-                if (isIntegerType(toType)) {
-                    numFormat.setParseIntegerOnly(true);
+                // plain digits read the same in every locale
+                Number number = isAsciiDigits(stringValue) ? parseLong(stringValue) : null;
+                if (number == null) {
+                    NumberFormat numFormat = copy(getFormats(context).number);
+                    ParsePosition parsePos = new ParsePosition(0);
+                    numFormat.setParseIntegerOnly(isIntegerType(toType));
+                    number = numFormat.parse(stringValue, parsePos);
+                    if (parsePos.getIndex() != stringValue.length()) {
+                        return NO_CONVERSION_POSSIBLE;
+                    }
                 }
-                numFormat.setGroupingUsed(true);
-                Number number = numFormat.parse(stringValue, parsePos);
-
-                if (parsePos.getIndex() != stringValue.length()) {
-                    throw new XWorkException("Unparseable number: \"" + stringValue + "\" at position "
-                            + parsePos.getIndex());
-                } else {
-                    if (!isInRange(number, stringValue,  toType))
-                        throw new XWorkException("Overflow or underflow casting: \"" + stringValue + "\" into class " + number.getClass().getName());
-                    
-                    value = super.convertValue(context, number, toType);
+                if (!isInRange(number, stringValue, toType)) {
+                    return NO_CONVERSION_POSSIBLE;
                 }
+
+                value = super.convertValue(context, number, toType);
             }
         } else if (value instanceof Object[]) {
             Object[] objArray = (Object[]) value;
@@ -446,48 +506,208 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
     }
 
     protected boolean isInRange(Number value, String stringValue, Class toType) {
-        Number bigValue = null;
-        Number lowerBound = null;
-        Number upperBound = null;
+        if (double.class == toType || Double.class == toType) {
+            return isInRange(value.doubleValue(), stringValue, Double.MAX_VALUE);
+        } else if (float.class == toType || Float.class == toType) {
+            return isInRange(value.doubleValue(), stringValue, Float.MAX_VALUE);
+        } else if (byte.class == toType || Byte.class == toType) {
+            return isInRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (char.class == toType || Character.class == toType) {
+            return isInRange(value, Character.MIN_VALUE, Character.MAX_VALUE);
+        } else if (short.class == toType || Short.class == toType) {
+            return isInRange(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (int.class == toType || Integer.class == toType) {
+            return isInRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (long.class == toType || Long.class == toType) {
+            return isInRange(value, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        return true;
+    }
+
+    private boolean isInRange(double value, String stringValue, double max) {
+        if (Double.isNaN(value)) {
+            return true;
+        }
+        if (Double.isInfinite(value)) {
+            // infinity itself is accepted, numbers too large to be represented aren't
+            for (int i = 0; i < stringValue.length(); i++) {
+                if (Character.isDigit(stringValue.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return Math.abs(value) <= max;
+    }
+
+    private boolean isInRange(Number value, long min, long max) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            long longValue = value.longValue();
+            return longValue >= min && longValue <= max;
+        }
+
+        // numbers not fitting in a long are parsed as doubles
+        double doubleValue = value.doubleValue();
+        if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+            return false;
+        }
+        BigDecimal bigValue;
+        if (value instanceof BigDecimal) {
+            bigValue = (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            bigValue = new BigDecimal((BigInteger) value);
+        } else {
+            bigValue = new BigDecimal(doubleValue);
+        }
+        return bigValue.compareTo(BigDecimal.valueOf(min)) >= 0 && bigValue.compareTo(BigDecimal.valueOf(max)) <= 0;
+    }
+
+    /**
+     * Parses a decimal long like {@link Long#parseLong(String)}, but returns <tt>null</tt> instead of throwing a
+     * NumberFormatException.
+     */
+    static Long parseLong(String s) {
+        int length = s.length();
+        if (length == 0) {
+            return null;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = (first == '-');
+            i++;
+            if (length == 1) {
+                return null;
+            }
+        }
+
+        // accumulated negatively, as Long.MIN_VALUE has no positive counterpart
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return Long.valueOf(negative ? result : -result);
+    }
 
+    /**
+     * Parses a double like {@link Double#valueOf(String)}, but returns <tt>null</tt> instead of throwing a
+     * NumberFormatException for most invalid values.
+     */
+    static Double parseDouble(String s) {
+        if (!isDecimal(s, true)) {
+            return null;
+        }
         try {
-            if (double.class == toType || Double.class == toType) {
-                bigValue = new BigDecimal(stringValue);
-                // Double.MIN_VALUE is the smallest positive non-zero number
-                lowerBound = BigDecimal.valueOf(Double.MAX_VALUE).negate();
-                upperBound = BigDecimal.valueOf(Double.MAX_VALUE);
-            } else if (float.class == toType || Float.class == toType) {
-                bigValue = new BigDecimal(stringValue);
-                // Float.MIN_VALUE is the smallest positive non-zero number
-                lowerBound = BigDecimal.valueOf(Float.MAX_VALUE).negate();
-                upperBound = BigDecimal.valueOf(Float.MAX_VALUE);
-            } else if (byte.class == toType || Byte.class == toType) {
-                bigValue = new BigInteger(stringValue);
-                lowerBound = BigInteger.valueOf(Byte.MIN_VALUE);
-                upperBound = BigInteger.valueOf(Byte.MAX_VALUE);
-            } else if (char.class == toType || Character.class == toType) {
-                bigValue = new BigInteger(stringValue);
-                lowerBound = BigInteger.valueOf(Character.MIN_VALUE);
-                upperBound = BigInteger.valueOf(Character.MAX_VALUE);
-            } else if (short.class == toType || Short.class == toType) {
-                bigValue = new BigInteger(stringValue);
-                lowerBound = BigInteger.valueOf(Short.MIN_VALUE);
-                upperBound = BigInteger.valueOf(Short.MAX_VALUE);
-            } else if (int.class == toType || Integer.class == toType) {
-                bigValue = new BigInteger(stringValue);
-                lowerBound = BigInteger.valueOf(Integer.MIN_VALUE);
-                upperBound = BigInteger.valueOf(Integer.MAX_VALUE);
-            } else if (long.class == toType || Long.class == toType) {
-                bigValue = new BigInteger(stringValue);
-                lowerBound = BigInteger.valueOf(Long.MIN_VALUE);
-                upperBound = BigInteger.valueOf(Long.MAX_VALUE);
+            return Double.valueOf(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static BigDecimal parseBigDecimal(String s) {
+        if (!isDecimal(s, false)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(s);
+        } catch (NumberFormatException e) {
+            // exponent overflow
+            return null;
+        }
+    }
+
+    static BigInteger parseBigInteger(String s) {
+        int i = (s.startsWith("-") || s.startsWith("+")) ? 1 : 0;
+        if (i == s.length()) {
+            return null;
+        }
+        for (; i < s.length(); i++) {
+            if (Character.digit(s.charAt(i), 10) < 0) {
+                return null;
             }
+        }
+        try {
+            return new BigInteger(s);
         } catch (NumberFormatException e) {
-            //shoult it fail here? BigInteger doesnt seem to be so nice parsing numbers as NumberFormat
-            return true;
+            return null;
         }
+    }
 
-        return ((Comparable)bigValue).compareTo(lowerBound) >= 0 && ((Comparable)bigValue).compareTo(upperBound) <= 0;
+    /**
+     * Checks the syntax of a decimal number with an optional exponent, so that invalid values are mostly rejected
+     * without parsing them.
+     *
+     * @param javaLiteral whether the infinity, NaN, hexadecimal and suffixed forms of a Java double are allowed
+     */
+    static boolean isDecimal(String s, boolean javaLiteral) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        if (javaLiteral) {
+            if (s.startsWith("NaN", i) || s.startsWith("Infinity", i)) {
+                return s.length() == i + ((s.charAt(i) == 'N') ? 3 : 8);
+            }
+            if (s.startsWith("0x", i) || s.startsWith("0X", i)) {
+                return true;
+            }
+        }
+
+        int digits = 0;
+        for (; i < length && Character.isDigit(s.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            for (i++; i < length && Character.isDigit(s.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < length && Character.isDigit(s.charAt(i)); i++) {
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        if (javaLiteral && i < length && "fFdD".indexOf(s.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isAsciiDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return s.length() > 0;
     }
 
     protected boolean isIntegerType(Class type) {
@@ -562,16 +782,14 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
 
             result = StringUtils.join(booleanArray, ", ");
         } else if (value instanceof Date) {
+            LocaleFormats localeFormats = getFormats(context);
             DateFormat df = null;
             if (value instanceof java.sql.Time) {
-                df = DateFormat.getTimeInstance(DateFormat.MEDIUM, getLocale(context));
+                df = copy(localeFormats.time);
             } else if (value instanceof java.sql.Timestamp) {
-                SimpleDateFormat dfmt = (SimpleDateFormat) DateFormat.getDateTimeInstance(DateFormat.SHORT,
-                        DateFormat.MEDIUM,
-                        getLocale(context));
-                df = new SimpleDateFormat(dfmt.toPattern() + MILLISECOND_FORMAT);
+                df = copy(localeFormats.timestamp);
             } else {
-                df = DateFormat.getDateInstance(DateFormat.SHORT, getLocale(context));
+                df = copy(localeFormats.shortDate);
             }
             result = df.format(value);
         } else if (value instanceof String[]) {
@@ -580,4 +798,33 @@ public class XWorkBasicConverter extends DefaultTypeConverter {
 
         return result;
     }
+
+    /**
+     * The number and date formats of a locale. They are never used directly, as they aren't thread safe, but copied
+     * for each conversion, which is much cheaper than creating them.
+     */
+    private static final class LocaleFormats {
+        final NumberFormat number;
+        final DateFormat shortDate;
+        final DateFormat time;
+        final DateFormat timestamp;
+        final DateFormat[] timestampParsers;
+        final DateFormat[] dateParsers;
+
+        LocaleFormats(Locale locale) {
+            number = NumberFormat.getInstance(locale);
+            number.setGroupingUsed(true);
+            shortDate = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+            time = DateFormat.getTimeInstance(DateFormat.MEDIUM, locale);
+
+            SimpleDateFormat dtfmt = (SimpleDateFormat) DateFormat.getDateTimeInstance(DateFormat.SHORT,
+                    DateFormat.MEDIUM,
+                    locale);
+            timestamp = new SimpleDateFormat(dtfmt.toPattern() + MILLISECOND_FORMAT);
+            SimpleDateFormat fullfmt = new SimpleDateFormat(dtfmt.toPattern() + MILLISECOND_FORMAT,
+                    locale);
+            timestampParsers = new DateFormat[]{fullfmt, dtfmt, shortDate};
+            dateParsers = getDateFormats(locale);
+        }
+    }
 }
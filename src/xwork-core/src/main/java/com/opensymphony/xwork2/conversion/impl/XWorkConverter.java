@@ -25,6 +25,7 @@ import com.opensymphony.xwork2.conversion.annotations.ConversionRule;
 import com.opensymphony.xwork2.conversion.annotations.ConversionType;
 import com.opensymphony.xwork2.conversion.annotations.TypeConversion;
 import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
 import com.opensymphony.xwork2.ognl.XWorkTypeConverterWrapper;
 import com.opensymphony.xwork2.util.*;
 import com.opensymphony.xwork2.util.logging.Logger;
@@ -38,6 +39,8 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.text.MessageFormat;
@@ -154,12 +157,20 @@ public class XWorkConverter extends DefaultTypeConverter {
      *                eg. value part of
      *                    Element_property=foo.bar.MyObject
      * </pre>
+     *
+     * @deprecated the mappings are cached internally, see {@link #buildConverterMapping(Class)}, the mappings put
+     *             here by subclasses are still used before them
      */
+    @Deprecated
     protected HashMap<Class, Map<String, Object>> mappings = new HashMap<Class, Map<String, Object>>(); // action
 
     /**
      * Unavailable target class conversion mappings, serves as a simple cache.
+     *
+     * @deprecated the classes without mappings are cached internally, the classes put here by subclasses are still
+     *             treated as having no mapping
      */
+    @Deprecated
     protected HashSet<Class> noMapping = new HashSet<Class>(); // action
 
     /**
@@ -168,7 +179,11 @@ public class XWorkConverter extends DefaultTypeConverter {
      * - String - classname as String
      * - TypeConverter - instance of TypeConverter
      * </pre>
+     *
+     * @deprecated use {@link #registerConverter(String, TypeConverter)} and {@link #lookup(String)}, the type
+     *             converters put here by subclasses are still looked up before the registered ones
      */
+    @Deprecated
     protected HashMap<String, TypeConverter> defaultMappings = new HashMap<String, TypeConverter>();  // non-action (eg. returned value)
 
     /**
@@ -176,9 +191,35 @@ public class XWorkConverter extends DefaultTypeConverter {
      * <pre>
      * - String -> classname as String
      * </pre>
+     *
+     * @deprecated use {@link #registerConverterNotFound(String)}, the class names put here by subclasses are still
+     *             looked up as having no type converter
      */
+    @Deprecated
     protected HashSet<String> unknownMappings = new HashSet<String>();     // non-action (eg. returned value)
 
+    /**
+     * The target class conversion mappings. The maps are never modified once published, a reload replaces them. The
+     * classes without conversion mappings are recorded with {@link #NO_MAPPING}, so the lookups never lock. The
+     * classes are weakly referenced, so that the mappings don't keep the classes of a redeployed webapp loaded.
+     */
+    private final ClassMetadataCache<Map<String, Object>> classMappings = new ClassMetadataCache<Map<String, Object>>("converterMappings");
+
+    /**
+     * Conversion mapping of the classes without conversion mappings
+     */
+    static final Map<String, Object> NO_MAPPING = Collections.emptyMap();
+
+    /**
+     * The type converters per class name
+     */
+    private final ConcurrentMap<String, TypeConverter> defaultConverters = new ConcurrentHashMap<String, TypeConverter>();
+
+    /**
+     * The class names without type converter, the values are always TRUE
+     */
+    private final ConcurrentMap<String, Boolean> unknownConverters = new ConcurrentHashMap<String, Boolean>();
+
     private TypeConverter defaultTypeConverter;
     private ObjectFactory objectFactory;
 
@@ -331,6 +372,16 @@ public class XWorkConverter extends DefaultTypeConverter {
             try {
                 if (LOG.isDebugEnabled())
                     LOG.debug("falling back to default type converter [" + defaultTypeConverter + "]");
+                if (defaultTypeConverter.getClass() == XWorkBasicConverter.class) {
+                    // invalid values are reported without an exception, unless convertValue may be overridden
+                    Object result = ((XWorkBasicConverter) defaultTypeConverter).tryConvertValue(context, target, member, property, value, toClass);
+                    if (result == TypeConverter.NO_CONVERSION_POSSIBLE) {
+                        if (LOG.isDebugEnabled())
+                            LOG.debug("unable to convert value [#0] to [#1]", String.valueOf(value), toClass.getName());
+                        handleConversionException(context, property, value, target);
+                    }
+                    return result;
+                }
                 return defaultTypeConverter.convertValue(context, target, member, property, value, toClass);
             } catch (Exception e) {
                 if (LOG.isDebugEnabled())
@@ -361,11 +412,22 @@ public class XWorkConverter extends DefaultTypeConverter {
      * @return a TypeConverter to handle the specified class or null if none can be found
      */
     public TypeConverter lookup(String className) {
-        if (unknownMappings.contains(className) && !defaultMappings.containsKey(className)) {
+        if (!defaultMappings.isEmpty() || !unknownMappings.isEmpty()) {
+            synchronized (this) {
+                if (defaultMappings.containsKey(className)) {
+                    return defaultMappings.get(className);
+                }
+                if (unknownMappings.contains(className)) {
+                    return null;
+                }
+            }
+        }
+
+        if (unknownConverters.containsKey(className) && !defaultConverters.containsKey(className)) {
             return null;
         }
 
-        TypeConverter result = defaultMappings.get(className);
+        TypeConverter result = defaultConverters.get(className);
 
         //Looks for super classes
         if (result == null) {
@@ -406,34 +468,76 @@ public class XWorkConverter extends DefaultTypeConverter {
             LOG.debug("Property: " + property);
             LOG.debug("Class: " + clazz.getName());
         }
-        synchronized (clazz) {
-            if ((property != null) && !noMapping.contains(clazz)) {
-                try {
-                    Map<String, Object> mapping = mappings.get(clazz);
-
-                    if (mapping == null) {
-                        mapping = buildConverterMapping(clazz);
-                    } else {
-                        mapping = conditionalReload(clazz, mapping);
-                    }
+        if (property != null) {
+            Map<String, Object> mapping = getMapping(clazz);
+            if (mapping == NO_MAPPING) {
+                return null;
+            }
 
-                    Object converter = mapping.get(property);
-                    if (LOG.isDebugEnabled() && converter == null) {
-                        LOG.debug("converter is null for property " + property + ". Mapping size: " + mapping.size());
-                        for (String next : mapping.keySet()) {
-                            LOG.debug(next + ":" + mapping.get(next));
-                        }
-                    }
-                    return converter;
-                } catch (Throwable t) {
-                    noMapping.add(clazz);
+            Object converter = mapping.get(property);
+            if (LOG.isDebugEnabled() && converter == null) {
+                LOG.debug("converter is null for property " + property + ". Mapping size: " + mapping.size());
+                for (String next : mapping.keySet()) {
+                    LOG.debug(next + ":" + mapping.get(next));
                 }
             }
+            return converter;
         }
 
         return null;
     }
 
+    /**
+     * Tells whether the values set to the properties of the objects of a class are only converted by the default
+     * type converter, no type converter being configured for the properties of the class, their paths or the type of
+     * the properties. The conversions of a subclass are never assumed to be the default ones.
+     *
+     * @param clazz   the class of the objects
+     * @param toClass the type of the properties
+     * @return true if the values are converted by {@link XWorkBasicConverter}
+     */
+    public boolean isDefaultConversion(Class clazz, Class toClass) {
+        return getClass() == XWorkConverter.class
+                && defaultTypeConverter != null && defaultTypeConverter.getClass() == XWorkBasicConverter.class
+                && lookup(toClass) == null
+                && getMapping(clazz) == NO_MAPPING;
+    }
+
+    private Map<String, Object> getMapping(Class clazz) {
+        if (!mappings.isEmpty() || !noMapping.isEmpty()) {
+            Map<String, Object> mapping = getDeprecatedMapping(clazz);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+
+        Map<String, Object> mapping = classMappings.get(clazz);
+        if (mapping == NO_MAPPING) {
+            return mapping;
+        }
+
+        try {
+            if (mapping == null) {
+                // concurrent first lookups may both build the mapping, they build the same one
+                return buildConverterMapping(clazz);
+            }
+            return conditionalReload(clazz, mapping);
+        } catch (Throwable t) {
+            classMappings.put(clazz, NO_MAPPING);
+            return NO_MAPPING;
+        }
+    }
+
+    /**
+     * @return the mapping of the class put by a subclass in the deprecated fields, <tt>null</tt> if there is none
+     */
+    private synchronized Map<String, Object> getDeprecatedMapping(Class clazz) {
+        if (noMapping.contains(clazz)) {
+            return NO_MAPPING;
+        }
+        return mappings.get(clazz);
+    }
+
     protected void handleConversionException(Map<String, Object> context, String property, Object value, Object object) {
         if (context != null && (Boolean.TRUE.equals(context.get(REPORT_CONVERSION_ERRORS)))) {
             String realProperty = property;
@@ -454,15 +558,20 @@ public class XWorkConverter extends DefaultTypeConverter {
         }
     }
 
-    public synchronized void registerConverter(String className, TypeConverter converter) {
-        defaultMappings.put(className, converter);
-        if (unknownMappings.contains(className)) {
-            unknownMappings.remove(className);
-        }
+    public void registerConverter(String className, TypeConverter converter) {
+        defaultConverters.put(className, converter);
+        unknownConverters.remove(className);
+    }
+
+    public void registerConverterNotFound(String className) {
+        unknownConverters.put(className, Boolean.TRUE);
     }
 
-    public synchronized void registerConverterNotFound(String className) {
-        unknownMappings.add(className);
+    /**
+     * @return the conversion mappings cached for the class, <tt>null</tt> if not looked up yet
+     */
+    Map<String, Object> getCachedMapping(Class clazz) {
+        return classMappings.get(clazz);
     }
 
     private Object[] getClassProperty(Map<String, Object> context) {
@@ -572,7 +681,7 @@ public class XWorkConverter extends DefaultTypeConverter {
                     if (key != null) {
                         try {
                             if (tc.type() == ConversionType.APPLICATION) {
-                                defaultMappings.put(key, createTypeConverter(tc.converter()));
+                                defaultConverters.put(key, createTypeConverter(tc.converter()));
                             } else {
                                 if (tc.rule().toString().equals(ConversionRule.KEY_PROPERTY) || tc.rule().toString().equals(ConversionRule.CREATE_IF_NULL)) {
                                     mapping.put(key, tc.value());
@@ -649,7 +758,7 @@ public class XWorkConverter extends DefaultTypeConverter {
                     if (key != null) {
                         try {
                             if (tc.type() == ConversionType.APPLICATION) {
-                                defaultMappings.put(key, createTypeConverter(tc.converter()));
+                                defaultConverters.put(key, createTypeConverter(tc.converter()));
                             } else {
                                 if (tc.rule().toString().equals(ConversionRule.KEY_PROPERTY)) {
                                     mapping.put(key, tc.value());
@@ -703,7 +812,7 @@ public class XWorkConverter extends DefaultTypeConverter {
      * hierarcy.
      *
      * @param clazz the class to look for converter mappings for
-     * @return the converter mappings
+     * @return the converter mappings, which must not be modified
      */
     protected Map<String, Object> buildConverterMapping(Class clazz) throws Exception {
         Map<String, Object> mapping = new HashMap<String, Object>();
@@ -725,11 +834,13 @@ public class XWorkConverter extends DefaultTypeConverter {
             curClazz = curClazz.getSuperclass();
         }
 
+        // publish the complete mapping at once, replacing the previous one on reload
         if (mapping.size() > 0) {
-            mappings.put(clazz, mapping);
+            mapping = Collections.unmodifiableMap(mapping);
         } else {
-            noMapping.add(clazz);
+            mapping = NO_MAPPING;
         }
+        classMappings.put(clazz, mapping);
 
         return mapping;
     }
@@ -785,7 +896,7 @@ public class XWorkConverter extends DefaultTypeConverter {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("\t" + key + ":" + entry.getValue() + " [treated as TypeConverter " + _typeConverter + "]");
                         }
-                        defaultMappings.put(key, _typeConverter);
+                        defaultConverters.put(key, _typeConverter);
                     } catch (Exception e) {
                         LOG.error("Conversion registration error", e);
                     }
@@ -811,15 +922,15 @@ public class XWorkConverter extends DefaultTypeConverter {
         TypeConverter result = null;
 
         if (clazz != null) {
-            result = defaultMappings.get(clazz.getName());
+            result = defaultConverters.get(clazz.getName());
 
             if (result == null) {
                 // Looks for direct interfaces (depth = 1 )
                 Class[] interfaces = clazz.getInterfaces();
 
                 for (Class anInterface : interfaces) {
-                    if (defaultMappings.containsKey(anInterface.getName())) {
-                        result = (TypeConverter) defaultMappings.get(anInterface.getName());
+                    if (defaultConverters.containsKey(anInterface.getName())) {
+                        result = (TypeConverter) defaultConverters.get(anInterface.getName());
                         break;
                     }
                 }
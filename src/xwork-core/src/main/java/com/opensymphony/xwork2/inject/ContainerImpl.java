@@ -16,7 +16,7 @@
 
 package com.opensymphony.xwork2.inject;
 
-import com.opensymphony.xwork2.inject.util.ReferenceCache;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
@@ -63,15 +63,22 @@ class ContainerImpl implements Container {
   /**
    * Field and method injectors.
    */
-  final Map<Class<?>, List<Injector>> injectors =
-      new ReferenceCache<Class<?>, List<Injector>>() {
-        @Override
-        protected List<Injector> create(Class<?> key) {
-          List<Injector> injectors = new ArrayList<Injector>();
-          addInjectors(key, injectors);
-          return injectors;
-        }
-      };
+  final ClassMetadataCache<List<Injector>> injectors =
+      new ClassMetadataCache<List<Injector>>("injectors");
+
+  /**
+   * Gets the field and method injectors of a class, finding them the first
+   * time.
+   */
+  List<Injector> getInjectors(Class<?> clazz) {
+    List<Injector> result = injectors.get(clazz);
+    if (result == null) {
+      result = new ArrayList<Injector>();
+      addInjectors(clazz, result);
+      result = injectors.putIfAbsent(clazz, result);
+    }
+    return result;
+  }
 
   /**
    * Recursively adds injectors for fields and methods from the given class to
@@ -297,14 +304,8 @@ class ContainerImpl implements Container {
     }
   }
 
-  Map<Class<?>, ConstructorInjector> constructors =
-      new ReferenceCache<Class<?>, ConstructorInjector>() {
-        @Override
-        @SuppressWarnings("unchecked")
-        protected ConstructorInjector<?> create(Class<?> implementation) {
-          return new ConstructorInjector(ContainerImpl.this, implementation);
-        }
-      };
+  final ClassMetadataCache<ConstructorInjector> constructors =
+      new ClassMetadataCache<ConstructorInjector>("constructors");
 
   static class ConstructorInjector<T> {
 
@@ -345,7 +346,7 @@ class ContainerImpl implements Container {
           throw new DependencyException(exception);
         }
       }
-      injectors = container.injectors.get(implementation);
+      injectors = container.getInjectors(implementation);
     }
 
     ParameterInjector<?>[] constructParameterInjector(
@@ -480,7 +481,7 @@ class ContainerImpl implements Container {
   }
 
   void inject(Object o, InternalContext context) {
-    List<Injector> injectors = this.injectors.get(o.getClass());
+    List<Injector> injectors = getInjectors(o.getClass());
     for (Injector injector : injectors) {
       injector.inject(context, o);
     }
@@ -591,7 +592,12 @@ class ContainerImpl implements Container {
    */
   @SuppressWarnings("unchecked")
   <T> ConstructorInjector<T> getConstructor(Class<T> implementation) {
-    return constructors.get(implementation);
+    ConstructorInjector<T> result = constructors.get(implementation);
+    if (result == null) {
+      result = constructors.putIfAbsent(implementation,
+          new ConstructorInjector<T>(this, implementation));
+    }
+    return result;
   }
 
   final ThreadLocal<Object> localScopeStrategy =
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.inject.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent cache of metadata computed for classes, such as bean infos or
+ * injectors, which doesn't prevent the classes and their class loaders from
+ * being garbage collected when a webapp is redeployed or reloaded.
+ *
+ * <p>The classes are weakly referenced and the metadata softly referenced, as
+ * the metadata usually references its class. The entries of collected classes
+ * are removed on the next access, no background thread is involved. The cache
+ * holds at most a maximum number of classes, some entries are evicted once it
+ * is full.
+ *
+ * <p>Two threads missing the same class at the same time may both compute its
+ * metadata, {@link #putIfAbsent(Class, Object)} then keeps the first one.
+ *
+ * @param <V> the type of the metadata
+ */
+public class ClassMetadataCache<V> {
+
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
+  private final String name;
+  private final int maxSize;
+  private final ConcurrentMap<Object, Reference<V>> entries =
+      new ConcurrentHashMap<Object, Reference<V>>();
+  private final ReferenceQueue<Class<?>> collectedClasses =
+      new ReferenceQueue<Class<?>>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong collectedCount = new AtomicLong();
+
+  /**
+   * Creates a cache holding at most {@link #DEFAULT_MAX_SIZE} classes.
+   *
+   * @param name the name of the cache, for the statistics
+   */
+  public ClassMetadataCache(String name) {
+    this(name, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * @param name the name of the cache, for the statistics
+   * @param maxSize the maximum number of classes, 0 or less for no limit
+   */
+  public ClassMetadataCache(String name, int maxSize) {
+    this.name = name;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Gets the metadata of a class.
+   *
+   * @return the metadata, or {@code null} if not cached or collected
+   */
+  public V get(Class<?> clazz) {
+    expungeCollectedClasses();
+    Reference<V> reference = entries.get(new LookupKey(clazz));
+    V value = (reference == null) ? null : reference.get();
+    if (value == null) {
+      missCount.incrementAndGet();
+    } else {
+      hitCount.incrementAndGet();
+    }
+    return value;
+  }
+
+  /**
+   * Caches the metadata of a class, replacing the previous one.
+   *
+   * @param value the metadata, not {@code null}
+   */
+  public void put(Class<?> clazz, V value) {
+    if (value == null) {
+      throw new NullPointerException("value");
+    }
+    expungeCollectedClasses();
+    entries.put(new ClassKey(clazz, collectedClasses),
+        new SoftReference<V>(value));
+    evictIfNeeded();
+  }
+
+  /**
+   * Caches the metadata of a class unless already cached.
+   *
+   * @param value the metadata, not {@code null}
+   * @return the metadata cached for the class, which may not be the given one
+   */
+  public V putIfAbsent(Class<?> clazz, V value) {
+    if (value == null) {
+      throw new NullPointerException("value");
+    }
+    expungeCollectedClasses();
+    ClassKey key = new ClassKey(clazz, collectedClasses);
+    Reference<V> reference = new SoftReference<V>(value);
+    while (true) {
+      Reference<V> existing = entries.putIfAbsent(key, reference);
+      if (existing == null) {
+        evictIfNeeded();
+        return value;
+      }
+      V current = existing.get();
+      if (current != null) {
+        return current;
+      }
+      // the previous metadata was collected
+      if (entries.replace(key, existing, reference)) {
+        return value;
+      }
+    }
+  }
+
+  public void remove(Class<?> clazz) {
+    entries.remove(new LookupKey(clazz));
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return the number of classes, including the collected ones not removed
+   *     yet
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the number of entries evicted to keep the cache under its maximum
+   *     size
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * @return the number of entries removed because their class was garbage
+   *     collected
+   */
+  public long getCollectedCount() {
+    return collectedCount.get();
+  }
+
+  private void expungeCollectedClasses() {
+    Reference<? extends Class<?>> reference;
+    while ((reference = collectedClasses.poll()) != null) {
+      if (entries.remove(reference) != null) {
+        collectedCount.incrementAndGet();
+      }
+    }
+  }
+
+  private void evictIfNeeded() {
+    if (maxSize <= 0 || entries.size() <= maxSize
+        || !evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      int toEvict = entries.size() - maxSize + Math.max(maxSize / 10, 1);
+
+      // the entries whose metadata was collected go first
+      for (Iterator<Map.Entry<Object, Reference<V>>> i =
+          entries.entrySet().iterator(); i.hasNext() && toEvict > 0;) {
+        if (i.next().getValue().get() == null) {
+          i.remove();
+          evictionCount.incrementAndGet();
+          toEvict--;
+        }
+      }
+      for (Iterator<Object> i = entries.keySet().iterator();
+          i.hasNext() && toEvict > 0; toEvict--) {
+        i.next();
+        i.remove();
+        evictionCount.incrementAndGet();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ClassMetadataCache[name=" + name + ", size=" + size()
+        + ", maxSize=" + maxSize + ", hits=" + getHitCount()
+        + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+        + ", collected=" + getCollectedCount() + "]";
+  }
+
+  /**
+   * Key of a cached class, cleared once the class is collected.
+   */
+  static final class ClassKey extends WeakReference<Class<?>> {
+
+    final int hash;
+
+    ClassKey(Class<?> clazz, ReferenceQueue<Class<?>> queue) {
+      super(clazz, queue);
+      this.hash = System.identityHashCode(clazz);
+    }
+
+    @Override public int hashCode() {
+      return hash;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (o == this) {
+        return true;
+      }
+      Object clazz = get();
+      if (clazz == null) {
+        return false;
+      }
+      if (o instanceof ClassKey) {
+        return clazz == ((ClassKey) o).get();
+      }
+      return o instanceof LookupKey && clazz == ((LookupKey) o).clazz;
+    }
+  }
+
+  /**
+   * Key used to look a class up, without creating a reference.
+   */
+  static final class LookupKey {
+
+    final Class<?> clazz;
+
+    LookupKey(Class<?> clazz) {
+      this.clazz = clazz;
+    }
+
+    @Override public int hashCode() {
+      return System.identityHashCode(clazz);
+    }
+
+    @Override public boolean equals(Object o) {
+      if (o instanceof ClassKey) {
+        return clazz == ((ClassKey) o).get();
+      }
+      return o instanceof LookupKey && clazz == ((LookupKey) o).clazz;
+    }
+  }
+}
@@ -148,9 +148,10 @@ public class ChainingInterceptor extends AbstractInterceptor {
     private void copyStack(ActionInvocation invocation, CompoundRoot root) {
         List list = prepareList(root);
         Map<String, Object> ctxMap = invocation.getInvocationContext().getContextMap();
+        Collection<String> localExcludes = prepareExcludes();
         for (Object object : list) {
             if (shouldCopy(object)) {
-                reflectionProvider.copy(object, invocation.getAction(), ctxMap, prepareExcludes(), includes);
+                reflectionProvider.copy(object, invocation.getAction(), ctxMap, localExcludes, includes);
             }
         }
     }
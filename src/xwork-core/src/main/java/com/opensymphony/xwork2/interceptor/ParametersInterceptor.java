@@ -22,6 +22,7 @@ import com.opensymphony.xwork2.conversion.impl.InstantiatingNullHandler;
 import com.opensymphony.xwork2.conversion.impl.XWorkConverter;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.ArrayUtils;
+import com.opensymphony.xwork2.util.BoundedCache;
 import com.opensymphony.xwork2.util.ClearableValueStack;
 import com.opensymphony.xwork2.util.LocalizedTextUtil;
 import com.opensymphony.xwork2.util.MemberAccessValueStack;
@@ -38,6 +39,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -138,6 +140,22 @@ public class ParametersInterceptor extends MethodFilterInterceptor {
     private String acceptedParamNames = "\\w+((\\.\\w+)|(\\[\\d+\\])|(\\(\\d+\\))|(\\['\\w+'\\])|(\\('\\w+'\\)))*";
     private Pattern acceptedPattern = Pattern.compile(acceptedParamNames);
 
+    private static final int MAX_CLASSIFIED_NAMES = 4096;
+    private static final int MAX_CLASSIFIED_NAME_LENGTH = 100;
+
+    // results of the pattern matching of the short parameter names, the same names are posted again and again, to
+    // the interceptors of all the actions which mostly have the same patterns
+    private static final BoundedCache<ClassifiedName, Boolean> classifiedNames = new BoundedCache<ClassifiedName, Boolean>(MAX_CLASSIFIED_NAMES);
+
+    private static final BoundedCache.Loader<ClassifiedName, Boolean, RuntimeException> MATCHER = new BoundedCache.Loader<ClassifiedName, Boolean, RuntimeException>() {
+        public Boolean load(ClassifiedName classifiedName) {
+            return matchesAny(classifiedName.patterns.patterns, classifiedName.name);
+        }
+    };
+
+    private PatternSet acceptedNamePatterns = new PatternSet("accepted", Collections.singleton(acceptedPattern));
+    private PatternSet excludedNamePatterns = new PatternSet("excluded", excludeParams);
+
     private ValueStackFactory valueStackFactory;
 
     @Inject
@@ -157,6 +175,7 @@ public class ParametersInterceptor extends MethodFilterInterceptor {
             for (String pattern : acceptPatterns) {
                 acceptParams.add(Pattern.compile(pattern));
             }
+            acceptedNamePatterns = new PatternSet("accepted", acceptParams.isEmpty() ? Collections.singleton(acceptedPattern) : acceptParams);
         }
     }
 
@@ -238,18 +257,15 @@ public class ParametersInterceptor extends MethodFilterInterceptor {
         ParameterNameAware parameterNameAware = (action instanceof ParameterNameAware)
                 ? (ParameterNameAware) action : null;
 
-        Map<String, Object> params;
+        // only the acceptable parameters are sorted
         Map<String, Object> acceptableParameters;
         if (ordered) {
-            params = new TreeMap<String, Object>(getOrderedComparator());
             acceptableParameters = new TreeMap<String, Object>(getOrderedComparator());
-            params.putAll(parameters);
         } else {
-            params = new TreeMap<String, Object>(parameters);
             acceptableParameters = new TreeMap<String, Object>();
         }
 
-        for (Map.Entry<String, Object> entry : params.entrySet()) {
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
             String name = entry.getKey();
 
             boolean acceptableName = acceptableName(name)
@@ -354,25 +370,29 @@ public class ParametersInterceptor extends MethodFilterInterceptor {
     }
 
     protected boolean isAccepted(String paramName) {
-        if (!this.acceptParams.isEmpty()) {
-            for (Pattern pattern : acceptParams) {
-                Matcher matcher = pattern.matcher(paramName);
-                if (matcher.matches()) {
-                    return true;
-                }
-            }
-            return false;
-        } else
-            return acceptedPattern.matcher(paramName).matches();
+        return matches(acceptedNamePatterns, paramName);
     }
 
     protected boolean isExcluded(String paramName) {
         if (!this.excludeParams.isEmpty()) {
-            for (Pattern pattern : excludeParams) {
-                Matcher matcher = pattern.matcher(paramName);
-                if (matcher.matches()) {
-                    return true;
-                }
+            return matches(excludedNamePatterns, paramName);
+        }
+        return false;
+    }
+
+    private static boolean matches(PatternSet patterns, String paramName) {
+        if (paramName.length() > MAX_CLASSIFIED_NAME_LENGTH) {
+            // not worth caching, the long names are rarely posted twice
+            return matchesAny(patterns.patterns, paramName);
+        }
+        return classifiedNames.get(new ClassifiedName(patterns, paramName), MATCHER);
+    }
+
+    private static boolean matchesAny(Set<Pattern> patterns, String paramName) {
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(paramName);
+            if (matcher.matches()) {
+                return true;
             }
         }
         return false;
@@ -419,6 +439,52 @@ public class ParametersInterceptor extends MethodFilterInterceptor {
             for (String pattern : excludePatterns) {
                 excludeParams.add(Pattern.compile(pattern));
             }
+            excludedNamePatterns = new PatternSet("excluded", excludeParams);
+        }
+    }
+
+    /**
+     * Patterns of parameter names, identified by their expressions so that the interceptors configured alike share
+     * the classified names
+     */
+    private static final class PatternSet {
+        final Set<Pattern> patterns;
+        final String key;
+
+        PatternSet(String kind, Set<Pattern> patterns) {
+            this.patterns = patterns;
+            Set<String> expressions = new TreeSet<String>();
+            for (Pattern pattern : patterns) {
+                expressions.add(pattern.pattern());
+            }
+            this.key = kind + expressions;
+        }
+    }
+
+    /**
+     * A parameter name matched against a set of patterns
+     */
+    private static final class ClassifiedName {
+        final PatternSet patterns;
+        final String name;
+
+        ClassifiedName(PatternSet patterns, String name) {
+            this.patterns = patterns;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ClassifiedName)) {
+                return false;
+            }
+            ClassifiedName other = (ClassifiedName) o;
+            return name.equals(other.name) && patterns.key.equals(other.patterns.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * patterns.key.hashCode() + name.hashCode();
         }
     }
 
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.util.logging.Logger;
+import com.opensymphony.xwork2.util.logging.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records how often and how long the OGNL expressions are evaluated by the value stacks, to find the expressions worth
+ * optimizing. Disabled by default, the value stacks then only check a flag.
+ * <p/>
+ * When enabled, every evaluation and failure is counted per expression string, and one evaluation out of the sample
+ * rate is timed. The latest timings of each expression are kept to compute percentiles. At most a maximum number of
+ * expressions are tracked, the evaluations of the others are only counted as a whole.
+ * <p/>
+ * The metrics can be read through JMX once {@link #registerMBean(String)} was called.
+ */
+public class OgnlExpressionMetrics implements OgnlExpressionMetricsMBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OgnlExpressionMetrics.class);
+
+    /**
+     * Default number of evaluations per timed evaluation
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /**
+     * Default maximum number of expressions tracked
+     */
+    public static final int DEFAULT_MAX_EXPRESSIONS = 1000;
+
+    private static final int TIMINGS_KEPT = 256;
+
+    private static final Comparator<ExpressionStats> BY_COST = new Comparator<ExpressionStats>() {
+        public int compare(ExpressionStats stats1, ExpressionStats stats2) {
+            return Double.compare(stats2.getEstimatedTotalMillis(), stats1.getEstimatedTotalMillis());
+        }
+    };
+
+    private final ConcurrentMap<String, ExpressionStats> expressions = new ConcurrentHashMap<String, ExpressionStats>();
+    private final AtomicLong untrackedEvaluations = new AtomicLong();
+    private volatile boolean enabled = false;
+    private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+    private volatile int maxExpressions = DEFAULT_MAX_EXPRESSIONS;
+    private ObjectName objectName;
+
+    @Inject(value = "ognlExpressionMetrics", required = false)
+    public void setEnableMetrics(String enable) {
+        enabled = "true".equalsIgnoreCase(enable);
+    }
+
+    @Inject(value = "ognlExpressionMetricsSampleRate", required = false)
+    public void setMetricsSampleRate(String rate) {
+        setSampleRate(Integer.parseInt(rate));
+    }
+
+    @Inject(value = "ognlExpressionMetricsMaxExpressions", required = false)
+    public void setMetricsMaxExpressions(String max) {
+        maxExpressions = Integer.parseInt(max);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate the number of evaluations per timed evaluation, 1 to time them all
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    public int getMaxExpressions() {
+        return maxExpressions;
+    }
+
+    public int getExpressionCount() {
+        return expressions.size();
+    }
+
+    public long getUntrackedEvaluationCount() {
+        return untrackedEvaluations.get();
+    }
+
+    /**
+     * Starts recording an evaluation of the expression
+     *
+     * @param expression the expression being evaluated
+     * @return the timer to stop once the expression is evaluated
+     */
+    public Timer start(String expression) {
+        if (!enabled || expression == null) {
+            return Timer.NONE;
+        }
+
+        ExpressionStats stats = expressions.get(expression);
+        if (stats == null) {
+            if (expressions.size() >= maxExpressions) {
+                untrackedEvaluations.incrementAndGet();
+                return Timer.NONE;
+            }
+            stats = new ExpressionStats(expression);
+            ExpressionStats existing = expressions.putIfAbsent(expression, stats);
+            if (existing != null) {
+                stats = existing;
+            }
+        }
+
+        long count = stats.count.incrementAndGet();
+        return new Timer(stats, (count - 1) % sampleRate == 0);
+    }
+
+    /**
+     * @return the statistics of the tracked expressions, the most costly first
+     */
+    public List<ExpressionStats> getExpressionStats() {
+        List<ExpressionStats> result = new ArrayList<ExpressionStats>(expressions.values());
+        Collections.sort(result, BY_COST);
+        return result;
+    }
+
+    /**
+     * @param expression the expression
+     * @return the statistics of the expression, or <tt>null</tt> if not tracked
+     */
+    public ExpressionStats getExpressionStats(String expression) {
+        return expressions.get(expression);
+    }
+
+    public String[] costliestExpressions(int limit) {
+        List<ExpressionStats> stats = getExpressionStats();
+        String[] result = new String[Math.min(Math.max(limit, 0), stats.size())];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = stats.get(i).toString();
+        }
+        return result;
+    }
+
+    public void reset() {
+        expressions.clear();
+        untrackedEvaluations.set(0);
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server, under the type OgnlExpressionMetrics and the given name
+     *
+     * @param name distinguishes the metrics of several applications, such as the name of the web application
+     */
+    public synchronized void registerMBean(String name) {
+        if (objectName != null) {
+            return;
+        }
+        try {
+            ObjectName candidate = new ObjectName("com.opensymphony.xwork2:type=OgnlExpressionMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            objectName = candidate;
+        } catch (Exception e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Unable to register the OGNL expression metrics of [#0] in JMX", e, name);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if registered. Must be called when the application
+     * stops, otherwise the MBean server keeps its classes loaded.
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Unable to unregister [#0] from JMX", e, objectName.toString());
+            }
+        } finally {
+            objectName = null;
+        }
+    }
+
+    /**
+     * Times an evaluation of an expression
+     */
+    public static final class Timer {
+
+        static final Timer NONE = new Timer(null, false);
+
+        private final ExpressionStats stats;
+        private final long started;
+
+        Timer(ExpressionStats stats, boolean timed) {
+            this.stats = stats;
+            this.started = timed ? System.nanoTime() : -1;
+        }
+
+        /**
+         * @param failed whether the evaluation failed
+         */
+        public void stop(boolean failed) {
+            if (stats == null) {
+                return;
+            }
+            if (failed) {
+                stats.failures.incrementAndGet();
+            }
+            if (started != -1) {
+                stats.addTiming(System.nanoTime() - started);
+            }
+        }
+    }
+
+    /**
+     * The evaluation statistics of an expression
+     */
+    public static final class ExpressionStats {
+
+        private final String expression;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        private final AtomicLong timedCount = new AtomicLong();
+        private final AtomicLong timedNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray latestTimings = new AtomicLongArray(TIMINGS_KEPT);
+        private final AtomicInteger nextTiming = new AtomicInteger();
+
+        ExpressionStats(String expression) {
+            this.expression = expression;
+        }
+
+        void addTiming(long nanos) {
+            timedCount.incrementAndGet();
+            timedNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+            latestTimings.set((nextTiming.getAndIncrement() & Integer.MAX_VALUE) % TIMINGS_KEPT, nanos);
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return the number of evaluations
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * @return the number of evaluations which failed
+         */
+        public long getFailureCount() {
+            return failures.get();
+        }
+
+        /**
+         * @return the number of evaluations timed
+         */
+        public long getTimedCount() {
+            return timedCount.get();
+        }
+
+        public double getMeanMillis() {
+            long timed = timedCount.get();
+            return (timed == 0) ? 0 : timedNanos.get() / (timed * 1000000d);
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1000000d;
+        }
+
+        /**
+         * @return the mean time multiplied by the number of evaluations
+         */
+        public double getEstimatedTotalMillis() {
+            return getMeanMillis() * count.get();
+        }
+
+        /**
+         * @param percent the percentile, between 0 and 100
+         * @return the percentile of the latest timed evaluations
+         */
+        public double getPercentileMillis(int percent) {
+            int kept = (int) Math.min(timedCount.get(), TIMINGS_KEPT);
+            if (kept == 0) {
+                return 0;
+            }
+            long[] timings = new long[kept];
+            for (int i = 0; i < kept; i++) {
+                timings[i] = latestTimings.get(i);
+            }
+            Arrays.sort(timings);
+            int index = (int) Math.ceil(Math.min(Math.max(percent, 0), 100) / 100d * kept) - 1;
+            return timings[Math.max(index, 0)] / 1000000d;
+        }
+
+        @Override
+        public String toString() {
+            return expression + ": count=" + getCount() + ", failures=" + getFailureCount()
+                    + ", estimatedTotalMillis=" + format(getEstimatedTotalMillis())
+                    + ", meanMillis=" + format(getMeanMillis()) + ", p50Millis=" + format(getPercentileMillis(50))
+                    + ", p90Millis=" + format(getPercentileMillis(90)) + ", p99Millis=" + format(getPercentileMillis(99))
+                    + ", maxMillis=" + format(getMaxMillis());
+        }
+
+        private static String format(double millis) {
+            return String.valueOf(Math.round(millis * 1000) / 1000d);
+        }
+    }
+}
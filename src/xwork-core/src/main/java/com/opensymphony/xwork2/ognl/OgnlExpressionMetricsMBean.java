@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+/**
+ * JMX view of the {@link OgnlExpressionMetrics}
+ */
+public interface OgnlExpressionMetricsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    int getSampleRate();
+
+    void setSampleRate(int sampleRate);
+
+    int getMaxExpressions();
+
+    /**
+     * @return the number of expressions tracked
+     */
+    int getExpressionCount();
+
+    /**
+     * @return the number of evaluations not recorded because the maximum number of expressions was reached
+     */
+    long getUntrackedEvaluationCount();
+
+    /**
+     * @param limit the maximum number of expressions reported
+     * @return one line per expression with its statistics, the most costly first
+     */
+    String[] costliestExpressions(int limit);
+
+    /**
+     * Forgets all the recorded evaluations
+     */
+    void reset();
+}
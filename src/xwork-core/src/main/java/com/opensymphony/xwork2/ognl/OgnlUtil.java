@@ -17,9 +17,12 @@ package com.opensymphony.xwork2.ognl;
 
 import com.opensymphony.xwork2.conversion.impl.XWorkConverter;
 import com.opensymphony.xwork2.inject.Inject;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
+import com.opensymphony.xwork2.util.BoundedCache;
 import com.opensymphony.xwork2.util.CompoundRoot;
 import com.opensymphony.xwork2.util.logging.Logger;
 import com.opensymphony.xwork2.util.logging.LoggerFactory;
+import com.opensymphony.xwork2.util.reflection.ReflectionContextState;
 import com.opensymphony.xwork2.util.reflection.ReflectionException;
 import ognl.*;
 
@@ -27,11 +30,19 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -43,13 +54,49 @@ import java.util.concurrent.ConcurrentHashMap;
 public class OgnlUtil {
 
     private static final Logger LOG = LoggerFactory.getLogger(OgnlUtil.class);
-    private ConcurrentHashMap<String, Object> expressions = new ConcurrentHashMap<String, Object>();
-    private final ConcurrentHashMap<Class, BeanInfo> beanInfoCache = new ConcurrentHashMap<Class, BeanInfo>();
+
+    /**
+     * Default maximum number of parsed expressions kept in the cache
+     */
+    public static final int DEFAULT_EXPRESSION_CACHE_MAX_SIZE = 10000;
+
+    private static final BoundedCache.Loader<String, Object, OgnlException> EXPRESSION_PARSER =
+            new BoundedCache.Loader<String, Object, OgnlException>() {
+                public Object load(String expression) throws OgnlException {
+                    return Ognl.parseExpression(expression);
+                }
+            };
+
+    private final BoundedCache<String, Object> expressions = new BoundedCache<String, Object>(DEFAULT_EXPRESSION_CACHE_MAX_SIZE);
+    private final ClassMetadataCache<BeanInfo> beanInfoCache = new ClassMetadataCache<BeanInfo>("beanInfos");
+    private final ClassMetadataCache<ParameterBindingPlan> bindingPlans = new ClassMetadataCache<ParameterBindingPlan>("parameterBindingPlans");
 
     private TypeConverter defaultConverter;
     static boolean devMode = false;
     static boolean enableExpressionCache = true;
 
+    /**
+     * Number of evaluations against the same root type after which an expression is compiled
+     */
+    public static final int DEFAULT_COMPILE_THRESHOLD = 100;
+
+    private static final int MAX_HOT_EXPRESSIONS = 4096;
+
+    private boolean compileExpressions = false;
+    private int compileThreshold = DEFAULT_COMPILE_THRESHOLD;
+    // evicts the least frequently used, the compiled accessors are the most used and stay
+    private final BoundedCache<String, HotExpression> hotExpressions = new BoundedCache<String, HotExpression>(MAX_HOT_EXPRESSIONS);
+    private final BoundedCache.Loader<String, HotExpression, OgnlException> hotExpressionCreator = new BoundedCache.Loader<String, HotExpression, OgnlException>() {
+        public HotExpression load(String expression) throws OgnlException {
+            return new HotExpression(getFirstProperty(compile(expression)));
+        }
+    };
+
+    private static final int MAX_COPY_PLANS_PER_CLASS = 64;
+
+    // the plans by source class, then by target class and filters
+    private final ClassMetadataCache<ConcurrentMap<CopyPlanKey, PropertyCopier[]>> copyPlans = new ClassMetadataCache<ConcurrentMap<CopyPlanKey, PropertyCopier[]>>("copyPlans");
+
     @Inject
     public void setXWorkConverter(XWorkConverter conv) {
         this.defaultConverter = new OgnlTypeConverterWrapper(conv);
@@ -65,6 +112,36 @@ public class OgnlUtil {
        enableExpressionCache = "true".equals(cache);
     }
 
+    /**
+     * Sets the maximum number of parsed expressions kept in the cache, 0 for no limit. The least frequently used
+     * expressions are evicted once the cache is full.
+     */
+    @Inject(value = "ognlExpressionCacheMaxSize", required = false)
+    public void setExpressionCacheMaxSize(String maxSize) {
+        expressions.setMaxSize(Integer.parseInt(maxSize));
+    }
+
+    /**
+     * @return the cache of parsed expressions, to read its statistics
+     */
+    public BoundedCache<String, Object> getExpressionCache() {
+        return expressions;
+    }
+
+    /**
+     * Enables the compilation of the expressions read often against the same type of root, they are then evaluated
+     * by the accessor generated by OGNL instead of being interpreted.
+     */
+    @Inject(value = "compileOGNLExpressions", required = false)
+    public void setCompileExpressions(String compile) {
+        compileExpressions = "true".equals(compile);
+    }
+
+    @Inject(value = "compileOGNLExpressionsThreshold", required = false)
+    public void setCompileThreshold(String threshold) {
+        compileThreshold = Integer.parseInt(threshold);
+    }
+
     /**
      * Sets the object's properties using the default type converter, defaulting to not throw
      * exceptions for problems setting the properties.
@@ -217,6 +294,55 @@ public class OgnlUtil {
         Ognl.setValue(tree, context, root, value);
     }
 
+    /**
+     * Sets a parameter on the first object of the stack having its property. The names which are plain property
+     * paths are bound through the accessors planned for the class of that object, see {@link ParameterBindingPlan},
+     * the other ones are evaluated as OGNL expressions, except eval expressions which are rejected.
+     */
+    void setParameter(String name, Map<String, Object> context, CompoundRoot root, Object value) throws OgnlException {
+        if (!bindParameter(name, (OgnlContext) context, root, value)) {
+            setValue(name, context, root, value, false);
+        }
+    }
+
+    private boolean bindParameter(String name, OgnlContext context, CompoundRoot root, Object value) throws OgnlException {
+        // a path left by a previous evaluation may select a type converter
+        if (value == null || !ParameterBindingPlan.isPropertyPath(name)
+                || context.get(ReflectionContextState.CURRENT_PROPERTY_PATH) != null) {
+            return false;
+        }
+
+        // the same search as CompoundRootAccessor
+        for (Object o : root) {
+            if (o == null) {
+                continue;
+            }
+            if (o instanceof Map || o instanceof Class) {
+                return false;
+            }
+
+            ParameterBindingPlan.PropertyChain chain = getBindingPlan(o.getClass()).getChain(context, name);
+            if (chain == ParameterBindingPlan.UNSUPPORTED) {
+                return false;
+            }
+            if (chain != ParameterBindingPlan.ABSENT) {
+                int result = chain.bind(context, o, value);
+                if (result != ParameterBindingPlan.NOT_ACCESSIBLE) {
+                    return result == ParameterBindingPlan.BOUND;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ParameterBindingPlan getBindingPlan(Class type) {
+        ParameterBindingPlan plan = bindingPlans.get(type);
+        if (plan == null) {
+            plan = bindingPlans.putIfAbsent(type, new ParameterBindingPlan(type));
+        }
+        return plan;
+    }
+
     private boolean isEvalExpression(Object tree, Map<String, Object> context) throws OgnlException {
         if (tree instanceof SimpleNode) {
             SimpleNode node = (SimpleNode) tree;
@@ -226,9 +352,157 @@ public class OgnlUtil {
     }
 
     public Object getValue(String name, Map<String, Object> context, Object root) throws OgnlException {
+        if (compileExpressions && context instanceof OgnlContext) {
+            return getValueWithCompilation(name, (OgnlContext) context, root);
+        }
         return Ognl.getValue(compile(name), context, root);
     }
 
+    /**
+     * Evaluates the expression with its compiled accessor if it has been compiled for the type of the target,
+     * otherwise interprets it and compiles it once it has been read often enough against the same type.
+     * <p/>
+     * Only chains of plain properties are compiled. On a CompoundRoot the target is the first object having the
+     * first property, as the CompoundRootAccessor would find it.
+     */
+    private Object getValueWithCompilation(String name, OgnlContext context, Object root) throws OgnlException {
+        Object tree = compile(name);
+        HotExpression hot = getHotExpression(name, tree);
+        if (hot == null) {
+            return Ognl.getValue(tree, context, root);
+        }
+
+        Object target = (root instanceof CompoundRoot) ? findTarget((CompoundRoot) root, hot.firstProperty, context) : root;
+        if (target == null || target instanceof Map) {
+            return Ognl.getValue(tree, context, root);
+        }
+
+        Class targetType = target.getClass();
+        Node compiled = hot.getCompiled(targetType);
+        if (compiled != null) {
+            try {
+                return compiled.getAccessor().get(context, target);
+            } catch (RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Compiled expression [#0] failed on #1, interpreting it from now on", e, name, targetType.getName());
+                }
+                hot.fail();
+            }
+            return Ognl.getValue(tree, context, root);
+        }
+
+        Object value = Ognl.getValue(tree, context, root);
+        if (hot.countEvaluation(targetType) == compileThreshold) {
+            hot.promote(targetType, compileExpression(name, context, target, value));
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the expression has been compiled for the given type of target
+     */
+    boolean isCompiled(String expression, Class type) {
+        HotExpression hot = hotExpressions.getIfPresent(expression);
+        return hot != null && hot.getCompiled(type) != null;
+    }
+
+    /**
+     * @return the number of expressions whose evaluations are tracked to compile them
+     */
+    int getHotExpressionCount() {
+        return hotExpressions.size();
+    }
+
+    /**
+     * @return the tracked evaluations of the expression, <tt>null</tt> if it can't be compiled, only the chains of
+     *         plain properties are tracked
+     */
+    private HotExpression getHotExpression(String name, Object tree) throws OgnlException {
+        if (getFirstProperty(tree) == null) {
+            return null;
+        }
+        HotExpression hot = hotExpressions.get(name, hotExpressionCreator);
+        return hot.isFailed() ? null : hot;
+    }
+
+    /**
+     * @return the first property of a chain of plain properties, such as <tt>user.address.city</tt>, or
+     *         <tt>null</tt> if the expression is anything else
+     */
+    private String getFirstProperty(Object tree) {
+        String first = null;
+        if (tree instanceof ASTChain) {
+            Node chain = (Node) tree;
+            for (int i = chain.jjtGetNumChildren() - 1; i >= 0; i--) {
+                first = getPropertyName(chain.jjtGetChild(i));
+                if (first == null) {
+                    return null;
+                }
+            }
+        } else {
+            first = getPropertyName(tree);
+        }
+        return "top".equals(first) ? null : first;
+    }
+
+    private String getPropertyName(Object node) {
+        if (node instanceof ASTProperty && !((ASTProperty) node).isIndexedAccess()
+                && ((Node) node).jjtGetNumChildren() == 1 && ((Node) node).jjtGetChild(0) instanceof ASTConst) {
+            Object name = ((ASTConst) ((Node) node).jjtGetChild(0)).getValue();
+            if (name instanceof String) {
+                return (String) name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the object of the root having the property, the same way the CompoundRootAccessor does
+     */
+    private Object findTarget(CompoundRoot root, String property, OgnlContext context) {
+        for (Object o : root) {
+            if (o == null) {
+                continue;
+            }
+            try {
+                if (OgnlRuntime.hasGetProperty(context, o, property) || ((o instanceof Map) && ((Map) o).containsKey(property))) {
+                    return o;
+                }
+            } catch (Exception e) {
+                // let the interpreter handle it
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compiles the expression for the target and checks the compiled accessor reads the same value as the
+     * interpreter did.
+     *
+     * @return the compiled expression or <tt>null</tt> if it couldn't be compiled
+     */
+    private Node compileExpression(String name, OgnlContext context, Object target, Object expected) {
+        Object root = context.getRoot();
+        try {
+            Node compiled = Ognl.compileExpression(context, target, name);
+            Object value = compiled.getAccessor().get(context, target);
+            if ((expected == null) ? (value == null) : expected.equals(value)) {
+                return compiled;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Compiled expression [#0] doesn't read the same value as the interpreter, keeping it interpreted", name);
+            }
+        } catch (Throwable e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Expression [#0] can't be compiled for #1, keeping it interpreted", e, name, target.getClass().getName());
+            }
+        } finally {
+            context.setRoot(root);
+        }
+        return null;
+    }
+
     public Object getValue(String name, Map<String, Object> context, Object root, Class resultType) throws OgnlException {
         return Ognl.getValue(compile(name), context, root, resultType);
     }
@@ -236,12 +510,7 @@ public class OgnlUtil {
 
     public Object compile(String expression) throws OgnlException {
         if (enableExpressionCache) {
-            Object o = expressions.get(expression);
-            if (o == null) {
-                o = Ognl.parseExpression(expression);
-                expressions.put(expression, o);
-            }
-            return o;
+            return expressions.get(expression, EXPRESSION_PARSER);
         } else
             return Ognl.parseExpression(expression);
     }
@@ -267,58 +536,117 @@ public class OgnlUtil {
             return;
         }
 
-        TypeConverter conv = getTypeConverterFromContext(context);
-        Map contextFrom = Ognl.createDefaultContext(from);
-        Ognl.setTypeConverter(contextFrom, conv);
-        Map contextTo = Ognl.createDefaultContext(to);
-        Ognl.setTypeConverter(contextTo, conv);
-
-        PropertyDescriptor[] fromPds;
-        PropertyDescriptor[] toPds;
-
+        PropertyCopier[] copiers;
         try {
-            fromPds = getPropertyDescriptors(from);
-            toPds = getPropertyDescriptors(to);
+            copiers = getCopyPlan(from.getClass(), to.getClass(), exclusions, inclusions);
         } catch (IntrospectionException e) {
             LOG.error("An error occured", e);
 
             return;
         }
 
+        Map contextFrom = null;
+        Map contextTo = null;
+
+        for (PropertyCopier copier : copiers) {
+            if (copier.direct) {
+                try {
+                    copier.writeMethod.invoke(to, copier.readMethod.invoke(from));
+                } catch (InvocationTargetException e) {
+                    // ignore, this is OK
+                } catch (IllegalAccessException e) {
+                    // ignore, this is OK
+                }
+            } else {
+                if (contextFrom == null) {
+                    TypeConverter conv = getTypeConverterFromContext(context);
+                    contextFrom = Ognl.createDefaultContext(from);
+                    Ognl.setTypeConverter(contextFrom, conv);
+                    contextTo = Ognl.createDefaultContext(to);
+                    Ognl.setTypeConverter(contextTo, conv);
+                }
+                try {
+                    Object expr = compile(copier.name);
+                    Object value = Ognl.getValue(expr, contextFrom, from);
+                    Ognl.setValue(expr, contextTo, to, value);
+                } catch (OgnlException e) {
+                    // ignore, this is OK
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the properties to copy from a class to another, readable in the first one and writable in the other one
+     * and not filtered out. The plans are cached as they only depend on the classes and filters, the plans beyond
+     * the maximum per source class are built for each copy.
+     */
+    private PropertyCopier[] getCopyPlan(Class fromClass, Class toClass, Collection<String> exclusions,
+                                         Collection<String> inclusions) throws IntrospectionException {
+        ConcurrentMap<CopyPlanKey, PropertyCopier[]> plans = copyPlans.get(fromClass);
+        if (plans == null) {
+            plans = copyPlans.putIfAbsent(fromClass, new ConcurrentHashMap<CopyPlanKey, PropertyCopier[]>());
+        }
+
+        CopyPlanKey key = new CopyPlanKey(toClass, exclusions, inclusions);
+        PropertyCopier[] copiers = plans.get(key);
+        if (copiers == null) {
+            copiers = buildCopyPlan(fromClass, toClass, exclusions, inclusions);
+            if (plans.size() < MAX_COPY_PLANS_PER_CLASS) {
+                plans.put(key, copiers);
+            }
+        }
+        return copiers;
+    }
+
+    private PropertyCopier[] buildCopyPlan(Class fromClass, Class toClass, Collection<String> exclusions,
+                                           Collection<String> inclusions) throws IntrospectionException {
+        PropertyDescriptor[] fromPds = getPropertyDescriptors(fromClass);
+        PropertyDescriptor[] toPds = getPropertyDescriptors(toClass);
+
         Map<String, PropertyDescriptor> toPdHash = new HashMap<String, PropertyDescriptor>();
 
         for (PropertyDescriptor toPd : toPds) {
             toPdHash.put(toPd.getName(), toPd);
         }
 
-        for (PropertyDescriptor fromPd : fromPds) {
-            if (fromPd.getReadMethod() != null) {
-                boolean copy = true;
-                if (exclusions != null && exclusions.contains(fromPd.getName())) {
-                    copy = false;
-                } else if (inclusions != null && !inclusions.contains(fromPd.getName())) {
-                    copy = false;
-                }
+        // beans are read and written through their accessors by OGNL unless another property accessor is registered
+        boolean beans = usesObjectPropertyAccessor(fromClass) && usesObjectPropertyAccessor(toClass);
 
-                if (copy) {
-                    PropertyDescriptor toPd = toPdHash.get(fromPd.getName());
-                    if ((toPd != null) && (toPd.getWriteMethod() != null)) {
-                        try {
-                            Object expr = compile(fromPd.getName());
-                            Object value = Ognl.getValue(expr, contextFrom, from);
-                            Ognl.setValue(expr, contextTo, to, value);
-                        } catch (OgnlException e) {
-                            // ignore, this is OK
-                        }
-                    }
-
-                }
+        List<PropertyCopier> copiers = new ArrayList<PropertyCopier>();
+        for (PropertyDescriptor fromPd : fromPds) {
+            String name = fromPd.getName();
+            if (fromPd.getReadMethod() == null
+                    || (exclusions != null && exclusions.contains(name))
+                    || (inclusions != null && !inclusions.contains(name))) {
+                continue;
+            }
 
+            PropertyDescriptor toPd = toPdHash.get(name);
+            if ((toPd != null) && (toPd.getWriteMethod() != null)) {
+                Method readMethod = fromPd.getReadMethod();
+                Method writeMethod = toPd.getWriteMethod();
+                // the values not assignable to the setter go through OGNL to be converted
+                boolean direct = beans && isPublic(readMethod) && isPublic(writeMethod)
+                        && writeMethod.getParameterTypes()[0].isAssignableFrom(readMethod.getReturnType());
+                copiers.add(new PropertyCopier(name, readMethod, writeMethod, direct));
             }
+        }
+        return copiers.toArray(new PropertyCopier[copiers.size()]);
+    }
 
+    private boolean usesObjectPropertyAccessor(Class clazz) {
+        try {
+            return OgnlRuntime.getPropertyAccessor(clazz) instanceof ObjectPropertyAccessor;
+        } catch (OgnlException e) {
+            return false;
         }
     }
 
+    private boolean isPublic(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
 
     /**
      * Copies the properties in the object "from" and sets them in the object "to"
@@ -407,15 +735,18 @@ public class OgnlUtil {
      * @throws IntrospectionException is thrown if an exception occurs during introspection.
      */
     public BeanInfo getBeanInfo(Class clazz) throws IntrospectionException {
-        synchronized (beanInfoCache) {
-            BeanInfo beanInfo;
-            beanInfo = beanInfoCache.get(clazz);
-            if (beanInfo == null) {
-                beanInfo = Introspector.getBeanInfo(clazz, Object.class);
-                beanInfoCache.put(clazz, beanInfo);
-            }
-            return beanInfo;
+        BeanInfo beanInfo = beanInfoCache.get(clazz);
+        if (beanInfo == null) {
+            beanInfo = beanInfoCache.putIfAbsent(clazz, Introspector.getBeanInfo(clazz, Object.class));
         }
+        return beanInfo;
+    }
+
+    /**
+     * @return the cache of the bean infos, for its statistics
+     */
+    public ClassMetadataCache<BeanInfo> getBeanInfoCache() {
+        return beanInfoCache;
     }
 
     void internalSetProperty(String name, Object value, Object o, Map<String, Object> context, boolean throwPropertyExceptions) throws ReflectionException{
@@ -447,4 +778,106 @@ public class OgnlUtil {
         */
         return defaultConverter;
     }
+
+    /**
+     * Copies a property, directly through its accessors when the value doesn't need to be converted
+     */
+    private static final class PropertyCopier {
+        final String name;
+        final Method readMethod;
+        final Method writeMethod;
+        final boolean direct;
+
+        PropertyCopier(String name, Method readMethod, Method writeMethod, boolean direct) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+            this.direct = direct;
+        }
+    }
+
+    private static final class CopyPlanKey {
+        final Class toClass;
+        final Set<String> exclusions;
+        final Set<String> inclusions;
+        final int hash;
+
+        CopyPlanKey(Class toClass, Collection<String> exclusions, Collection<String> inclusions) {
+            this.toClass = toClass;
+            this.exclusions = (exclusions == null) ? null : new HashSet<String>(exclusions);
+            this.inclusions = (inclusions == null) ? null : new HashSet<String>(inclusions);
+            int h = toClass.hashCode();
+            h = 31 * h + (this.exclusions == null ? 0 : this.exclusions.hashCode());
+            this.hash = 31 * h + (this.inclusions == null ? 0 : this.inclusions.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CopyPlanKey)) {
+                return false;
+            }
+            CopyPlanKey key = (CopyPlanKey) o;
+            return hash == key.hash && toClass == key.toClass
+                    && (exclusions == null ? key.exclusions == null : exclusions.equals(key.exclusions))
+                    && (inclusions == null ? key.inclusions == null : inclusions.equals(key.inclusions));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Tracks the evaluations of an expression to compile it once it is read often against the same type of target
+     */
+    private static final class HotExpression {
+
+        final String firstProperty;
+        private final AtomicInteger evaluations = new AtomicInteger();
+        private volatile Class countedType;
+        private volatile Object[] compiled;
+        private volatile boolean failed;
+
+        HotExpression(String firstProperty) {
+            this.firstProperty = firstProperty;
+        }
+
+        /**
+         * @return the number of consecutive evaluations against the given type
+         */
+        int countEvaluation(Class type) {
+            if (type != countedType) {
+                // the type changed, start counting again
+                countedType = type;
+                evaluations.set(0);
+            }
+            return evaluations.incrementAndGet();
+        }
+
+        /**
+         * @return the expression compiled for the given type, <tt>null</tt> if it was compiled for another type
+         */
+        Node getCompiled(Class type) {
+            Object[] typeAndNode = compiled;
+            return (typeAndNode != null && typeAndNode[0] == type) ? (Node) typeAndNode[1] : null;
+        }
+
+        void promote(Class type, Node node) {
+            if (node == null) {
+                failed = true;
+            } else {
+                compiled = new Object[] {type, node};
+            }
+        }
+
+        void fail() {
+            failed = true;
+            compiled = null;
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
+    }
 }
@@ -35,6 +35,7 @@ import ognl.Ognl;
 import ognl.OgnlContext;
 import ognl.OgnlException;
 import ognl.PropertyAccessor;
+import ognl.TypeConverter;
 
 import java.io.Serializable;
 import java.util.HashMap;
@@ -66,6 +67,7 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
     Map<Object, Object> overrides;
     transient OgnlUtil ognlUtil;
     transient SecurityMemberAccess securityMemberAccess;
+    transient OgnlExpressionMetrics expressionMetrics;
 
     private boolean devMode;
     private boolean logMissingProperties;
@@ -79,16 +81,43 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
         setRoot(xworkConverter, accessor, new CompoundRoot(vs.getRoot()), allowStaticAccess);
     }
 
+    /**
+     * Creates a stack sharing the collaborators, type converter and settings of a prototype stack already injected
+     * by the container, so that it doesn't need to be injected again.
+     *
+     * @param prototype    the injected stack
+     * @param compoundRoot the root of the new stack
+     */
+    OgnlValueStack(OgnlValueStack prototype, CompoundRoot compoundRoot) {
+        OgnlContext prototypeContext = (OgnlContext) prototype.context;
+        setRoot(prototypeContext.getTypeConverter(), (CompoundRootAccessor) prototypeContext.getClassResolver(),
+                compoundRoot, prototype.securityMemberAccess.getAllowStaticMethodAccess());
+        this.ognlUtil = prototype.ognlUtil;
+        this.expressionMetrics = prototype.expressionMetrics;
+        this.devMode = prototype.devMode;
+        this.logMissingProperties = prototype.logMissingProperties;
+    }
+
     @Inject
     public void setOgnlUtil(OgnlUtil ognlUtil) {
         this.ognlUtil = ognlUtil;
     }
 
+    @Inject(required = false)
+    public void setExpressionMetrics(OgnlExpressionMetrics expressionMetrics) {
+        this.expressionMetrics = expressionMetrics;
+    }
+
     protected void setRoot(XWorkConverter xworkConverter, CompoundRootAccessor accessor, CompoundRoot compoundRoot,
                            boolean allowStaticMethodAccess) {
+        setRoot(new OgnlTypeConverterWrapper(xworkConverter), accessor, compoundRoot, allowStaticMethodAccess);
+    }
+
+    private void setRoot(TypeConverter typeConverter, CompoundRootAccessor accessor, CompoundRoot compoundRoot,
+                         boolean allowStaticMethodAccess) {
         this.root = compoundRoot;
         this.securityMemberAccess = new SecurityMemberAccess(allowStaticMethodAccess);
-        this.context = Ognl.createDefaultContext(this.root, accessor, new OgnlTypeConverterWrapper(xworkConverter), securityMemberAccess);
+        this.context = Ognl.createDefaultContext(this.root, accessor, typeConverter, securityMemberAccess);
         context.put(VALUE_STACK, this);
         Ognl.setClassResolver(context, accessor);
         ((OgnlContext) context).setTraceEvaluations(false);
@@ -183,7 +212,22 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
     private void trySetValue(String expr, Object value, boolean throwExceptionOnFailure, Map<String, Object> context, boolean evalExpression) throws OgnlException {
         context.put(XWorkConverter.CONVERSION_PROPERTY_FULLNAME, expr);
         context.put(REPORT_ERRORS_ON_NO_PROP, (throwExceptionOnFailure) ? Boolean.TRUE : Boolean.FALSE);
-        ognlUtil.setValue(expr, context, root, value, evalExpression);
+        OgnlExpressionMetrics.Timer timer = startTimer(expr);
+        boolean failed = true;
+        try {
+            if (evalExpression) {
+                ognlUtil.setValue(expr, context, root, value, true);
+            } else {
+                ognlUtil.setParameter(expr, context, root, value);
+            }
+            failed = false;
+        } finally {
+            timer.stop(failed);
+        }
+    }
+
+    private OgnlExpressionMetrics.Timer startTimer(String expr) {
+        return (expressionMetrics == null) ? OgnlExpressionMetrics.Timer.NONE : expressionMetrics.start(expr);
     }
 
     private void cleanUpContext(Map<String, Object> context) {
@@ -286,9 +330,14 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
     }
 
     private Object getValueUsingOgnl(String expr) throws OgnlException {
+        OgnlExpressionMetrics.Timer timer = startTimer(expr);
+        boolean failed = true;
         try {
-            return ognlUtil.getValue(expr, context, root);
+            Object value = ognlUtil.getValue(expr, context, root);
+            failed = false;
+            return value;
         } finally {
+            timer.stop(failed);
             context.remove(THROW_EXCEPTION_ON_FAILURE);
         }
     }
@@ -352,7 +401,15 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
     }
 
     private Object getValue(String expr, Class asType) throws OgnlException {
-        return ognlUtil.getValue(expr, context, root, asType);
+        OgnlExpressionMetrics.Timer timer = startTimer(expr);
+        boolean failed = true;
+        try {
+            Object value = ognlUtil.getValue(expr, context, root, asType);
+            failed = false;
+            return value;
+        } finally {
+            timer.stop(failed);
+        }
     }
 
     private Object findInContext(String name) {
@@ -446,6 +503,7 @@ public class OgnlValueStack implements Serializable, ValueStack, ClearableValueS
         boolean allow = "true".equals(cont.getInstance(String.class, "allowStaticMethodAccess"));
         OgnlValueStack aStack = new OgnlValueStack(xworkConverter, accessor, prov, allow);
         aStack.setOgnlUtil(cont.getInstance(OgnlUtil.class));
+        aStack.setExpressionMetrics(cont.getInstance(OgnlExpressionMetrics.class));
         aStack.setRoot(xworkConverter, accessor, this.root, allow);
 
         return aStack;
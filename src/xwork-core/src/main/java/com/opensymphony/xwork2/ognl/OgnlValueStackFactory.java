@@ -42,6 +42,7 @@ public class OgnlValueStackFactory implements ValueStackFactory {
     private TextProvider textProvider;
     private Container container;
     private boolean allowStaticMethodAccess;
+    private volatile OgnlValueStack prototype;
 
     @Inject
     public void setXWorkConverter(XWorkConverter conv) {
@@ -59,18 +60,32 @@ public class OgnlValueStackFactory implements ValueStackFactory {
     }
 
     public ValueStack createValueStack() {
-        ValueStack stack = new OgnlValueStack(xworkConverter, compoundRootAccessor, textProvider, allowStaticMethodAccess);
-        container.inject(stack);
+        ValueStack stack = new OgnlValueStack(getPrototype(), new CompoundRoot());
+        stack.push(textProvider);
         stack.getContext().put(ActionContext.CONTAINER, container);
         return stack;
     }
 
     public ValueStack createValueStack(ValueStack stack) {
-        ValueStack result = new OgnlValueStack(stack, xworkConverter, compoundRootAccessor, allowStaticMethodAccess);
-        container.inject(result);
+        ValueStack result = new OgnlValueStack(getPrototype(), new CompoundRoot(stack.getRoot()));
         stack.getContext().put(ActionContext.CONTAINER, container);
         return result;
     }
+
+    /**
+     * Gets the stack injected once by the container, whose collaborators and settings are shared by the created
+     * stacks instead of injecting each of them
+     */
+    private OgnlValueStack getPrototype() {
+        OgnlValueStack result = prototype;
+        if (result == null) {
+            // the setters may be called in any order, the prototype is created once they all were
+            result = new OgnlValueStack(xworkConverter, compoundRootAccessor, textProvider, allowStaticMethodAccess);
+            container.inject(result);
+            prototype = result;
+        }
+        return result;
+    }
     
     @Inject
     public void setContainer(Container container) throws ClassNotFoundException {
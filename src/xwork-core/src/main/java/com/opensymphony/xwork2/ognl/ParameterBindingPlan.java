@@ -0,0 +1,339 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+import com.opensymphony.xwork2.conversion.impl.XWorkConverter;
+import ognl.MethodFailedException;
+import ognl.ObjectPropertyAccessor;
+import ognl.OgnlContext;
+import ognl.OgnlException;
+import ognl.OgnlRuntime;
+
+import java.beans.IntrospectionException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * How the parameters are set on the objects of a class, such as an action or its model. A parameter named after a
+ * plain property path, like <tt>user.address.city</tt>, is bound through the chain of accessors of its properties,
+ * resolved once, instead of being parsed and evaluated as an OGNL expression.
+ * <p/>
+ * A parameter is only bound directly when OGNL would call the same accessors with the same value: the objects use
+ * the default property accessor, the accessors are public and the value doesn't need to be converted, or is a single
+ * String converted by the default type converter. Otherwise, and when an object of the path is <tt>null</tt> and has
+ * to be created, the parameter is left to OGNL.
+ *
+ * @see OgnlUtil#setParameter(String, java.util.Map, com.opensymphony.xwork2.util.CompoundRoot, Object)
+ */
+final class ParameterBindingPlan {
+
+    /**
+     * Maximum length of the parameter names planned, the longer ones are always evaluated by OGNL
+     */
+    static final int MAX_PATH_LENGTH = 100;
+
+    /**
+     * Maximum number of parameter names planned per class, the names beyond are planned again for each request
+     */
+    static final int MAX_CHAINS = 512;
+
+    /**
+     * The objects of the class don't have the first property of the path, it is looked for on the next object of
+     * the stack
+     */
+    static final PropertyChain ABSENT = new PropertyChain(new String[0], null);
+
+    /**
+     * The parameter has to be set by OGNL on the objects of the class
+     */
+    static final PropertyChain UNSUPPORTED = new PropertyChain(new String[0], null);
+
+    static final int BOUND = 0;
+    static final int NOT_ACCESSIBLE = 1;
+    static final int NOT_BOUND = 2;
+
+    // names OGNL parses as literals or operators rather than properties, "top" is the top of the stack
+    private static final Set<String> RESERVED_NAMES = new HashSet<String>(Arrays.asList(
+            "true", "false", "null", "new", "instanceof", "in", "not", "and", "or", "band", "bor", "xor",
+            "eq", "neq", "lt", "lte", "gt", "gte", "shl", "shr", "ushr", "top", "class"));
+
+    private final Class type;
+    private final ConcurrentMap<String, PropertyChain> chains = new ConcurrentHashMap<String, PropertyChain>();
+
+    ParameterBindingPlan(Class type) {
+        this.type = type;
+    }
+
+    /**
+     * @param name the name of a parameter
+     * @return true if the name is a path of properties which may be bound directly
+     */
+    static boolean isPropertyPath(String name) {
+        int length = name.length();
+        if (length == 0 || length > MAX_PATH_LENGTH) {
+            return false;
+        }
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = (i == length) ? '.' : name.charAt(i);
+            if (c == '.') {
+                if (i == start || RESERVED_NAMES.contains(name.substring(start, i))) {
+                    return false;
+                }
+                start = i + 1;
+            } else if (!isIdentifierChar(c, i == start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifierChar(char c, boolean first) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$' || (!first && c >= '0' && c <= '9');
+    }
+
+    /**
+     * Gets the chain of accessors of a property path on the objects of the class, planning it on first use
+     *
+     * @param context the OGNL context
+     * @param path    a name accepted by {@link #isPropertyPath(String)}
+     * @return the chain, {@link #ABSENT} or {@link #UNSUPPORTED}
+     */
+    PropertyChain getChain(OgnlContext context, String path) {
+        PropertyChain chain = chains.get(path);
+        if (chain == null) {
+            chain = createChain(context, path);
+            if (chains.size() < MAX_CHAINS) {
+                PropertyChain planned = chains.putIfAbsent(path, chain);
+                if (planned != null) {
+                    chain = planned;
+                }
+            }
+        }
+        return chain;
+    }
+
+    private PropertyChain createChain(OgnlContext context, String path) {
+        String[] names = path.split("\\.");
+        boolean setter = names.length == 1;
+        Method method;
+        Field field;
+        try {
+            // the same lookups as OgnlRuntime.hasSetProperty() and hasGetProperty(), used by CompoundRootAccessor
+            method = setter ? OgnlRuntime.getSetMethod(context, type, names[0]) : OgnlRuntime.getGetMethod(context, type, names[0]);
+            field = OgnlRuntime.getField(type, names[0]);
+        } catch (IntrospectionException e) {
+            return UNSUPPORTED;
+        } catch (OgnlException e) {
+            return UNSUPPORTED;
+        }
+
+        boolean publicField = (field != null) && Modifier.isPublic(field.getModifiers());
+        if (publicField) {
+            return UNSUPPORTED;
+        }
+        if (method == null) {
+            return ABSENT;
+        }
+        return new PropertyChain(names, Accessor.create(type, method, setter));
+    }
+
+    /**
+     * The accessors of the properties of a path, the getters of the objects along the path then the setter of the
+     * last property
+     */
+    static final class PropertyChain {
+
+        final String[] names;
+
+        // resolved for the classes of the objects met along the path, replaced when other classes are met
+        private volatile Accessor[] accessors;
+
+        PropertyChain(String[] names, Accessor first) {
+            this.names = names;
+            this.accessors = new Accessor[names.length];
+            if (names.length > 0) {
+                accessors[0] = first;
+            }
+        }
+
+        /**
+         * Sets a value through the accessors of the path, starting from an object of the class of the plan
+         *
+         * @return {@link #BOUND} if the value was set, {@link #NOT_ACCESSIBLE} if the first property isn't
+         *         accessible on the object, or {@link #NOT_BOUND} if OGNL has to set the value, nothing having been
+         *         set yet
+         * @throws OgnlException if the setter fails
+         */
+        int bind(OgnlContext context, Object owner, Object value) throws OgnlException {
+            Accessor[] planned = accessors;
+            Accessor[] resolved = planned;
+            try {
+                Object target = owner;
+                int last = names.length - 1;
+                for (int i = 0; ; i++) {
+                    Accessor accessor = resolved[i];
+                    if (accessor == null || accessor.type != target.getClass()) {
+                        if (resolved == planned) {
+                            resolved = planned.clone();
+                        }
+                        accessor = Accessor.resolve(context, target.getClass(), names[i], i == last);
+                        resolved[i] = accessor;
+                    }
+                    if (accessor.method == null) {
+                        return NOT_BOUND;
+                    }
+                    if (!context.getMemberAccess().isAccessible(context, target, accessor.method, names[i])) {
+                        return (i == 0) ? NOT_ACCESSIBLE : NOT_BOUND;
+                    }
+                    if (i == last) {
+                        return set(context, resolved, target, accessor, value);
+                    }
+
+                    try {
+                        target = accessor.method.invoke(target);
+                    } catch (InvocationTargetException e) {
+                        // OGNL reports it
+                        return NOT_BOUND;
+                    } catch (IllegalAccessException e) {
+                        return NOT_BOUND;
+                    }
+                    if (target == null) {
+                        // OGNL creates the missing objects
+                        return NOT_BOUND;
+                    }
+                }
+            } finally {
+                if (resolved != planned) {
+                    accessors = resolved;
+                }
+            }
+        }
+
+        private int set(OgnlContext context, Accessor[] resolved, Object target, Accessor setter, Object value) throws OgnlException {
+            Object argument;
+            if (!setter.valueType.isPrimitive() && setter.valueType.isInstance(value)) {
+                argument = value;
+            } else if (setter.valueType == String.class && isSingleString(value) && isDefaultConversion(context, resolved)) {
+                // XWorkBasicConverter converts a single element array to its element
+                argument = ((String[]) value)[0];
+            } else {
+                return NOT_BOUND;
+            }
+
+            try {
+                setter.method.invoke(target, argument);
+            } catch (InvocationTargetException e) {
+                throw new MethodFailedException(target, setter.method.getName(), e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new MethodFailedException(target, setter.method.getName(), e);
+            }
+            return BOUND;
+        }
+
+        private boolean isSingleString(Object value) {
+            return (value instanceof String[]) && ((String[]) value).length == 1;
+        }
+
+        /**
+         * @return true if no type converter is configured for the objects along the path, their properties or the
+         *         String type
+         */
+        private boolean isDefaultConversion(OgnlContext context, Accessor[] resolved) {
+            if (!(context.getTypeConverter() instanceof OgnlTypeConverterWrapper)) {
+                return false;
+            }
+            Object converter = ((OgnlTypeConverterWrapper) context.getTypeConverter()).getTarget();
+            if (!(converter instanceof XWorkConverter)) {
+                return false;
+            }
+            for (Accessor accessor : resolved) {
+                if (!((XWorkConverter) converter).isDefaultConversion(accessor.type, String.class)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A getter or setter of the objects of a class, with the type of its argument as OGNL resolves it
+     */
+    static final class Accessor {
+
+        final Class type;
+        final Method method;
+        final Class valueType;
+
+        private Accessor(Class type, Method method, Class valueType) {
+            this.type = type;
+            this.method = method;
+            this.valueType = valueType;
+        }
+
+        static Accessor resolve(OgnlContext context, Class type, String name, boolean setter) {
+            try {
+                Method method = setter ? OgnlRuntime.getSetMethod(context, type, name) : OgnlRuntime.getGetMethod(context, type, name);
+                Field field = OgnlRuntime.getField(type, name);
+                if (method == null || (field != null && Modifier.isPublic(field.getModifiers()))) {
+                    return new Accessor(type, null, null);
+                }
+                return create(type, method, setter);
+            } catch (IntrospectionException e) {
+                return new Accessor(type, null, null);
+            } catch (OgnlException e) {
+                return new Accessor(type, null, null);
+            }
+        }
+
+        /**
+         * @return the accessor, without method if OGNL wouldn't invoke it directly
+         */
+        static Accessor create(Class type, Method method, boolean setter) {
+            if (!usesObjectPropertyAccessor(type) || Modifier.isStatic(method.getModifiers())
+                    || !Modifier.isPublic(method.getModifiers())
+                    || !Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                    || method.isVarArgs()) {
+                return new Accessor(type, null, null);
+            }
+            Class valueType = null;
+            if (setter) {
+                // the argument type of a generic setter is resolved against the class
+                Class[] parameterTypes = OgnlRuntime.findParameterTypes(type, method);
+                if (parameterTypes.length != 1) {
+                    return new Accessor(type, null, null);
+                }
+                valueType = parameterTypes[0];
+            }
+            return new Accessor(type, method, valueType);
+        }
+
+        private static boolean usesObjectPropertyAccessor(Class type) {
+            try {
+                return OgnlRuntime.getPropertyAccessor(type) instanceof ObjectPropertyAccessor;
+            } catch (OgnlException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -118,6 +118,14 @@ public class SecurityMemberAccess extends DefaultMemberAccess {
         return false;
     }
 
+    /**
+     * @return true if the access to properties is restricted by accepted or excluded patterns, the accessible
+     *         properties then don't only depend on the classes of the objects
+     */
+    public boolean hasPropertyFilters() {
+        return !acceptProperties.isEmpty() || !excludeProperties.isEmpty();
+    }
+
     public void setExcludeProperties(Set<Pattern> excludeProperties) {
         this.excludeProperties = excludeProperties;
     }
@@ -17,6 +17,7 @@ package com.opensymphony.xwork2.ognl.accessor;
 
 import com.opensymphony.xwork2.XWorkException;
 import com.opensymphony.xwork2.ognl.OgnlValueStack;
+import com.opensymphony.xwork2.ognl.SecurityMemberAccess;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.CompoundRoot;
 import com.opensymphony.xwork2.util.ValueStack;
@@ -26,7 +27,10 @@ import ognl.*;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -55,6 +59,13 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
     private final static Logger LOG = LoggerFactory.getLogger(CompoundRootAccessor.class);
     private final static Class[] EMPTY_CLASS_ARRAY = new Class[0];
     private static Map invalidMethods = new HashMap();
+    private static final int MAX_RESOLUTIONS = 4096;
+
+    /**
+     * Index of the first object of the stack which may have a property, by classes of the objects on the stack. The
+     * classes are weakly referenced by the keys, so that they don't keep the classes of a redeployed webapp loaded.
+     */
+    private final ConcurrentMap<PropertyKey, Integer> resolutions = new ConcurrentHashMap<PropertyKey, Integer>();
 
     static boolean devMode = false;
 
@@ -67,7 +78,8 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
         CompoundRoot root = (CompoundRoot) target;
         OgnlContext ognlContext = (OgnlContext) context;
 
-        for (Object o : root) {
+        for (int i = findFirstCandidate(ognlContext, root, name, true), size = root.size(); i < size; i++) {
+            Object o = root.get(i);
             if (o == null) {
                 continue;
             }
@@ -127,7 +139,8 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
                 }
             }
 
-            for (Object o : root) {
+            for (int i = findFirstCandidate(ognlContext, root, name, false), size = root.size(); i < size; i++) {
+                Object o = root.get(i);
                 if (o == null) {
                     continue;
                 }
@@ -156,6 +169,96 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
         }
     }
 
+    /**
+     * Finds the index of the first object of the stack which may have the property, the objects above it don't have
+     * the property whatever their state, as it only depends on their classes. Maps are always candidates as their
+     * keys can change.
+     *
+     * @param context the OGNL context
+     * @param root    the stack
+     * @param name    the name of the property
+     * @param set     true when setting the property, false when getting it
+     * @return the index of the first candidate, or the size of the stack if none
+     */
+    private int findFirstCandidate(OgnlContext context, CompoundRoot root, Object name, boolean set) {
+        PropertyKey key = createKey(context, root, name, set);
+        if (key == null) {
+            return 0;
+        }
+
+        Integer index = resolutions.get(key);
+        if (index == null) {
+            int i = 0;
+            try {
+                for (int size = root.size(); i < size; i++) {
+                    Object o = root.get(i);
+                    if (o != null && (o instanceof Map || hasProperty(context, o, name, set))) {
+                        break;
+                    }
+                }
+            } catch (OgnlException e) {
+                // let the full scan report it
+                return 0;
+            }
+            index = i;
+            if (resolutions.size() >= MAX_RESOLUTIONS) {
+                evictResolutions();
+            }
+            resolutions.put(key.toWeakKey(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Removes the resolutions of collected classes, then some others if there are still too many
+     */
+    private void evictResolutions() {
+        int toEvict = resolutions.size() - MAX_RESOLUTIONS * 3 / 4;
+        for (Iterator<PropertyKey> i = resolutions.keySet().iterator(); i.hasNext(); ) {
+            if (i.next().isStale()) {
+                i.remove();
+                toEvict--;
+            }
+        }
+        for (Iterator<PropertyKey> i = resolutions.keySet().iterator(); toEvict > 0 && i.hasNext(); toEvict--) {
+            i.next();
+            i.remove();
+        }
+    }
+
+    private boolean hasProperty(OgnlContext context, Object o, Object name, boolean set) throws OgnlException {
+        try {
+            return set ? OgnlRuntime.hasSetProperty(context, o, name) : OgnlRuntime.hasGetProperty(context, o, name);
+        } catch (IntrospectionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the key of the resolution of a property, or returns <tt>null</tt> if the resolution can't be cached
+     * because the accessible properties depend on more than the classes of the objects on the stack.
+     */
+    private PropertyKey createKey(OgnlContext context, CompoundRoot root, Object name, boolean set) {
+        if (!(name instanceof String)) {
+            return null;
+        }
+        MemberAccess memberAccess = context.getMemberAccess();
+        if (!(memberAccess instanceof SecurityMemberAccess) || ((SecurityMemberAccess) memberAccess).hasPropertyFilters()) {
+            return null;
+        }
+
+        Class[] types = new Class[root.size()];
+        for (int i = 0; i < types.length; i++) {
+            Object o = root.get(i);
+            if (o instanceof Class) {
+                // static members of classes are accessed differently
+                return null;
+            }
+            types[i] = (o == null) ? null : o.getClass();
+        }
+        return new PropertyKey(types, (String) name, set, ((SecurityMemberAccess) memberAccess).getAllowStaticMethodAccess());
+    }
+
     public Object callMethod(Map context, Object target, String name, Object[] objects) throws MethodFailedException {
         CompoundRoot root = (CompoundRoot) target;
 
@@ -323,4 +426,84 @@ public class CompoundRootAccessor implements PropertyAccessor, MethodAccessor, C
             return hash;
         }
     }
+
+    /**
+     * The classes of the objects on a stack, which may be weakly referenced, and a property
+     */
+    static final class PropertyKey {
+        // the classes, or weak references to them in the keys stored, null for the null objects
+        final Object[] types;
+        final String name;
+        final boolean set;
+        final boolean allowStaticMethodAccess;
+        final int hash;
+
+        PropertyKey(Class[] types, String name, boolean set, boolean allowStaticMethodAccess) {
+            this((Object[]) types, name, set, allowStaticMethodAccess, (31 * Arrays.hashCode(types) + name.hashCode()) * 4 + (set ? 2 : 0) + (allowStaticMethodAccess ? 1 : 0));
+        }
+
+        private PropertyKey(Object[] types, String name, boolean set, boolean allowStaticMethodAccess, int hash) {
+            this.types = types;
+            this.name = name;
+            this.set = set;
+            this.allowStaticMethodAccess = allowStaticMethodAccess;
+            this.hash = hash;
+        }
+
+        /**
+         * @return a key equal to this one, referencing the classes weakly
+         */
+        PropertyKey toWeakKey() {
+            Object[] references = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                Class type = getType(i);
+                references[i] = (type == null) ? null : new WeakReference<Class>(type);
+            }
+            return new PropertyKey(references, name, set, allowStaticMethodAccess, hash);
+        }
+
+        /**
+         * @return true if a class of the key has been collected, it then doesn't equal any other key
+         */
+        boolean isStale() {
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] != null && getType(i) == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Class getType(int i) {
+            Object type = types[i];
+            return (type instanceof WeakReference) ? (Class) ((WeakReference) type).get() : (Class) type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PropertyKey)) {
+                return false;
+            }
+            PropertyKey key = (PropertyKey) obj;
+            if (hash != key.hash || set != key.set || allowStaticMethodAccess != key.allowStaticMethodAccess
+                    || !name.equals(key.name) || types.length != key.types.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if ((types[i] == null) != (key.types[i] == null)) {
+                    return false;
+                }
+                Class type = getType(i);
+                if (types[i] != null && (type == null || type != key.getType(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
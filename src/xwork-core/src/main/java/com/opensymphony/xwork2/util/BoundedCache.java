@@ -0,0 +1,267 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent cache holding at most a maximum number of values, each value is loaded once per key even when
+ * requested by several threads at the same time.
+ * <p/>
+ * When the cache grows over its maximum size the least frequently used values are evicted, in batches of a tenth of
+ * the maximum size. The use counts are halved every ten times the maximum size requests, so that values popular long
+ * ago eventually make room for the new ones.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Loads the value of a key missing from the cache
+     */
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<K, Entry<V>>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile int maxSize;
+    private long agedAt;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxSize the maximum number of values, 0 or less for no limit
+     */
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the value of the key, loading it if it isn't in the cache. A failed load isn't cached.
+     *
+     * @param key    the key
+     * @param loader loads the value when missing
+     * @return the value
+     * @throws E the exception thrown by the loader
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> V get(final K key, final Loader<K, V, E> loader) throws E {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> created = new Entry<V>(new FutureTask<V>(new Callable<V>() {
+                public V call() throws Exception {
+                    return loader.load(key);
+                }
+            }));
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                missCount.incrementAndGet();
+                created.task.run();
+                evictIfNeeded(created);
+            } else {
+                hitCount.incrementAndGet();
+            }
+        } else {
+            hitCount.incrementAndGet();
+        }
+        entry.frequency++;
+
+        try {
+            return entry.task.get();
+        } catch (ExecutionException e) {
+            entries.remove(key, entry);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the value of " + key, e);
+        }
+    }
+
+    /**
+     * Gets the value of the key if it has been loaded
+     *
+     * @param key the key
+     * @return the value, or <tt>null</tt> if not in the cache
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !entry.task.isDone()) {
+            return null;
+        }
+        try {
+            return entry.task.get();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of values in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of values, the extra values are evicted on the next load
+     *
+     * @param maxSize the maximum number of values, 0 or less for no limit
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the number of requests answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of requests which had to load the value
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of values evicted to keep the cache under its maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the ratio of requests answered from the cache, between 0 and 1
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    private void evictIfNeeded(Entry<V> loaded) {
+        int max = maxSize;
+        if (max <= 0 || entries.size() <= max || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int toEvict = entries.size() - max + Math.max(max / 10, 1);
+            if (toEvict <= 0) {
+                return;
+            }
+
+            // snapshot the frequencies, they keep changing while sorting, the value just loaded is left a chance
+            Candidate[] candidates = new Candidate[entries.size()];
+            int count = 0;
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                if (count == candidates.length) {
+                    break;
+                }
+                if (e.getValue() != loaded) {
+                    candidates[count++] = new Candidate(e.getKey(), e.getValue());
+                }
+            }
+            Arrays.sort(candidates, 0, count);
+
+            for (int i = 0; i < count && i < toEvict; i++) {
+                if (entries.remove(candidates[i].key, candidates[i].entry)) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+
+            long requests = hitCount.get() + missCount.get();
+            if (requests - agedAt >= 10L * max) {
+                agedAt = requests;
+                for (Entry<V> entry : entries.values()) {
+                    entry.frequency >>>= 1;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache[size=" + size() + ", maxSize=" + maxSize + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    /**
+     * A value being loaded or loaded, and how often it was requested
+     */
+    private static final class Entry<V> {
+        final FutureTask<V> task;
+        volatile int frequency;
+
+        Entry(FutureTask<V> task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * An entry and its frequency at the time of the eviction
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final Object key;
+        final Entry entry;
+        final int frequency;
+
+        Candidate(Object key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.frequency = entry.frequency;
+        }
+
+        public int compareTo(Candidate other) {
+            return (frequency < other.frequency) ? -1 : ((frequency == other.frequency) ? 0 : 1);
+        }
+    }
+}
@@ -25,16 +25,18 @@ import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.ActionInvocation;
 import com.opensymphony.xwork2.ModelDriven;
 import com.opensymphony.xwork2.conversion.impl.XWorkConverter;
+import com.opensymphony.xwork2.inject.util.ClassMetadataCache;
 import com.opensymphony.xwork2.util.logging.Logger;
 import com.opensymphony.xwork2.util.logging.LoggerFactory;
 import com.opensymphony.xwork2.util.reflection.ReflectionProviderFactory;
-import org.apache.commons.lang.ObjectUtils;
 
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.text.MessageFormat;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -92,10 +94,25 @@ public class LocalizedTextUtil {
     private static boolean reloadBundles = false;
     private static final ResourceBundle EMPTY_BUNDLE = new EmptyResourceBundle();
     private static final ConcurrentMap<String, ResourceBundle> bundlesMap = new ConcurrentHashMap<String, ResourceBundle>();
-    private static final ConcurrentMap<MessageFormatKey, MessageFormat> messageFormats = new ConcurrentHashMap<MessageFormatKey, MessageFormat>();
+    private static final int MAX_MESSAGE_TEMPLATES = 10000;
+    private static final BoundedCache<MessageFormatKey, MessageTemplate> messageTemplates = new BoundedCache<MessageFormatKey, MessageTemplate>(MAX_MESSAGE_TEMPLATES);
+    private static final BoundedCache<MessageFormatKey, MessageTemplate> textTemplates = new BoundedCache<MessageFormatKey, MessageTemplate>(MAX_MESSAGE_TEMPLATES);
+    private static final BoundedCache.Loader<MessageFormatKey, MessageTemplate, RuntimeException> MESSAGE_TEMPLATE_LOADER =
+            new BoundedCache.Loader<MessageFormatKey, MessageTemplate, RuntimeException>() {
+                public MessageTemplate load(MessageFormatKey key) {
+                    return MessageTemplate.compile(key.pattern, key.locale, false);
+                }
+            };
+    private static final BoundedCache.Loader<MessageFormatKey, MessageTemplate, RuntimeException> TEXT_TEMPLATE_LOADER =
+            new BoundedCache.Loader<MessageFormatKey, MessageTemplate, RuntimeException>() {
+                public MessageTemplate load(MessageFormatKey key) {
+                    return MessageTemplate.compile(key.pattern, key.locale, true);
+                }
+            };
+    private static final ClassMetadataCache<ClassTexts> classTexts = new ClassMetadataCache<ClassTexts>("localizedTexts");
 
     private static ClassLoader delegatedClassLoader;
-    private static final String RELOADED = "com.opensymphony.xwork2.util.LocalizedTextUtil.reloaded";
+    private static final ConcurrentMap<String, BundleRevision> bundleRevisions = new ConcurrentHashMap<String, BundleRevision>();
 
     static {
         clearDefaultResourceBundles();
@@ -119,12 +136,19 @@ public class LocalizedTextUtil {
     }
 
     /**
-     * Should resorce bundles be reloaded.
+     * Should resorce bundles be reloaded. When they are, the properties files of the bundles are checked for changes
+     * at most once a second, and only the changed bundles are reloaded.
      *
      * @param reloadBundles reload bundles?
      */
     public static void setReloadBundles(boolean reloadBundles) {
-        LocalizedTextUtil.reloadBundles = reloadBundles;
+        if (LocalizedTextUtil.reloadBundles != reloadBundles) {
+            LocalizedTextUtil.reloadBundles = reloadBundles;
+            // the bundles loaded so far have no revision to check
+            bundlesMap.clear();
+            bundleRevisions.clear();
+            classTexts.clear();
+        }
     }
 
     /**
@@ -202,7 +226,6 @@ public class LocalizedTextUtil {
         for (String bundleName : localList) {
             ResourceBundle bundle = findResourceBundle(bundleName, locale);
             if (bundle != null) {
-                reloadBundles();
                 try {
                     return bundle.getString(aTextName);
                 } catch (MissingResourceException e) {
@@ -226,8 +249,8 @@ public class LocalizedTextUtil {
     public static String findDefaultText(String aTextName, Locale locale, Object[] params) {
         String defaultText = findDefaultText(aTextName, locale);
         if (defaultText != null) {
-            MessageFormat mf = buildMessageFormat(defaultText, locale);
-            return formatWithNullDetection(mf, params);
+            MessageTemplate template = buildMessageTemplate(defaultText, locale, false);
+            return formatWithNullDetection(template.format(null, params));
         }
         return null;
     }
@@ -246,37 +269,49 @@ public class LocalizedTextUtil {
     public static ResourceBundle findResourceBundle(String aBundleName, Locale locale) {
         String key = createMissesKey(aBundleName, locale);
 
-        ResourceBundle bundle;
-
-        try {
-            if (!bundlesMap.containsKey(key)) {
-                bundle = ResourceBundle.getBundle(aBundleName, locale, Thread.currentThread().getContextClassLoader());
-                bundlesMap.put(key, bundle);
+        if (reloadBundles) {
+            BundleRevision revision = bundleRevisions.get(key);
+            if (revision != null && revision.needsReloading() && bundleRevisions.remove(key, revision)) {
+                bundlesMap.remove(key);
+                classTexts.clear();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Reloading resource bundle [#0]", key);
+                }
             }
+        }
 
-            bundle = bundlesMap.get(key);
-        } catch (MissingResourceException ex) {
-            if (delegatedClassLoader != null) {
-                try {
-                    if (!bundlesMap.containsKey(key)) {
-                        bundle = ResourceBundle.getBundle(aBundleName, locale, delegatedClassLoader);
-                        bundlesMap.put(key, bundle);
-                    }
-
-                    bundle = bundlesMap.get(key);
-
-                } catch (MissingResourceException e) {
-                    bundle = EMPTY_BUNDLE;
-                    bundlesMap.put(key, bundle);
-                }
-            } else {
+        ResourceBundle bundle = bundlesMap.get(key);
+        if (bundle == null) {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            bundle = loadBundle(aBundleName, locale, loader);
+            if (bundle == null && delegatedClassLoader != null) {
+                loader = delegatedClassLoader;
+                bundle = loadBundle(aBundleName, locale, loader);
+            }
+            if (bundle == null) {
+                loader = Thread.currentThread().getContextClassLoader();
                 bundle = EMPTY_BUNDLE;
-                bundlesMap.put(key, bundle);
+            }
+            bundlesMap.put(key, bundle);
+            if (reloadBundles) {
+                bundleRevisions.put(key, new BundleRevision(aBundleName, locale, loader));
             }
         }
         return (bundle == EMPTY_BUNDLE) ? null : bundle;
     }
 
+    private static ResourceBundle loadBundle(String aBundleName, Locale locale, ClassLoader loader) {
+        try {
+            if (reloadBundles) {
+                // a new class loader each time, so that ResourceBundle's cache doesn't return the previous bundle
+                return ResourceBundle.getBundle(aBundleName, locale, new ReloadingClassLoader(loader));
+            }
+            return ResourceBundle.getBundle(aBundleName, locale, loader);
+        } catch (MissingResourceException e) {
+            return null;
+        }
+    }
+
     /**
      * Sets a {@link ClassLoader} to look up the bundle from if none can be found on the current thread's classloader
      *
@@ -295,6 +330,8 @@ public class LocalizedTextUtil {
      */
     public static void clearBundle(final String bundleName) {
         bundlesMap.remove(bundleName);
+        bundleRevisions.remove(bundleName);
+        classTexts.clear();
     }
 
 
@@ -429,7 +466,7 @@ public class LocalizedTextUtil {
         }
 
         // search up class hierarchy
-        String msg = findMessage(aClass, aTextName, indexedTextName, locale, args, null, valueStack);
+        String msg = findMessage(getClassTexts(aClass), false, aTextName, indexedTextName, locale, args, valueStack);
 
         if (msg != null) {
             return msg;
@@ -446,7 +483,7 @@ public class LocalizedTextUtil {
                 if (action instanceof ModelDriven) {
                     Object model = ((ModelDriven) action).getModel();
                     if (model != null) {
-                        msg = findMessage(model.getClass(), aTextName, indexedTextName, locale, args, null, valueStack);
+                        msg = findMessage(getClassTexts(model.getClass()), false, aTextName, indexedTextName, locale, args, valueStack);
                         if (msg != null) {
                             return msg;
                         }
@@ -456,28 +493,10 @@ public class LocalizedTextUtil {
         }
 
         // nothing still? alright, search the package hierarchy now
-        for (Class clazz = aClass;
-             (clazz != null) && !clazz.equals(Object.class);
-             clazz = clazz.getSuperclass()) {
-
-            String basePackageName = clazz.getName();
-            while (basePackageName.lastIndexOf('.') != -1) {
-                basePackageName = basePackageName.substring(0, basePackageName.lastIndexOf('.'));
-                String packageName = basePackageName + ".package";
-                msg = getMessage(packageName, locale, aTextName, valueStack, args);
-
-                if (msg != null) {
-                    return msg;
-                }
+        msg = findMessage(getClassTexts(aClass), true, aTextName, indexedTextName, locale, args, valueStack);
 
-                if (indexedTextName != null) {
-                    msg = getMessage(packageName, locale, indexedTextName, valueStack, args);
-
-                    if (msg != null) {
-                        return msg;
-                    }
-                }
-            }
+        if (msg != null) {
+            return msg;
         }
 
         // see if it's a child property
@@ -625,12 +644,7 @@ public class LocalizedTextUtil {
     public static String findText(ResourceBundle bundle, String aTextName, Locale locale, String defaultMessage, Object[] args,
                                   ValueStack valueStack) {
         try {
-            reloadBundles(valueStack.getContext());
-
-            String message = TextParseUtil.translateVariables(bundle.getString(aTextName), valueStack);
-            MessageFormat mf = buildMessageFormat(message, locale);
-
-            return formatWithNullDetection(mf, args);
+            return formatMessage(bundle.getString(aTextName), locale, valueStack, args);
         } catch (MissingResourceException ex) {
             // ignore
         }
@@ -660,9 +674,7 @@ public class LocalizedTextUtil {
 
             // defaultMessage may be null
             if (message != null) {
-                MessageFormat mf = buildMessageFormat(TextParseUtil.translateVariables(message, valueStack), locale);
-
-                String msg = formatWithNullDetection(mf, args);
+                String msg = formatMessage(message, locale, valueStack, args);
                 result = new GetDefaultMessageReturnArg(msg, found);
             }
         }
@@ -678,18 +690,22 @@ public class LocalizedTextUtil {
         if (bundle == null) {
             return null;
         }
-            reloadBundles(valueStack.getContext());
         try {
-            String message = TextParseUtil.translateVariables(bundle.getString(key), valueStack);
-            MessageFormat mf = buildMessageFormat(message, locale);
-            return formatWithNullDetection(mf, args);
+            return formatMessage(bundle.getString(key), locale, valueStack, args);
         } catch (MissingResourceException e) {
             return null;
         }
     }
 
-    private static String formatWithNullDetection(MessageFormat mf, Object[] args) {
-        String message = mf.format(args);
+    /**
+     * Evaluates the expressions of the text then formats it with the arguments.
+     */
+    private static String formatMessage(String text, Locale locale, ValueStack valueStack, Object[] args) {
+        MessageTemplate template = buildMessageTemplate(text, locale, true);
+        return formatWithNullDetection(template.format(valueStack, args));
+    }
+
+    private static String formatWithNullDetection(String message) {
         if ("null".equals(message)) {
             return null;
         } else {
@@ -697,151 +713,75 @@ public class LocalizedTextUtil {
         }
     }
 
-    private static MessageFormat buildMessageFormat(String pattern, Locale locale) {
+    /**
+     * Gets the compiled template of a message pattern or text.
+     *
+     * @param withExpressions whether the <code>${...}</code> and <code>%{...}</code> expressions of the text are
+     *                        evaluated, or the text is a plain message pattern
+     */
+    private static MessageTemplate buildMessageTemplate(String pattern, Locale locale, boolean withExpressions) {
         MessageFormatKey key = new MessageFormatKey(pattern, locale);
-        MessageFormat format = messageFormats.get(key);
-        if (format == null) {
-            format = new MessageFormat(pattern);
-            format.setLocale(locale);
-            format.applyPattern(pattern);
-            messageFormats.put(key, format);
+        if (withExpressions) {
+            return textTemplates.get(key, TEXT_TEMPLATE_LOADER);
         }
-
-        return format;
+        return messageTemplates.get(key, MESSAGE_TEMPLATE_LOADER);
     }
 
     /**
-     * Traverse up class hierarchy looking for message.  Looks at class, then implemented interface,
-     * before going up hierarchy.
+     * Gets the bundles to search for the texts of a class, computing them on first use.
      */
-    private static String findMessage(Class clazz, String key, String indexedKey, Locale locale, Object[] args, Set<String> checked,
-                                      ValueStack valueStack) {
-        if (checked == null) {
-            checked = new TreeSet<String>();
-        } else if (checked.contains(clazz.getName())) {
-            return null;
-        }
-
-        // look in properties of this class
-        String msg = getMessage(clazz.getName(), locale, key, valueStack, args);
-
-        if (msg != null) {
-            return msg;
-        }
-
-        if (indexedKey != null) {
-            msg = getMessage(clazz.getName(), locale, indexedKey, valueStack, args);
-
-            if (msg != null) {
-                return msg;
-            }
+    private static ClassTexts getClassTexts(Class clazz) {
+        ClassTexts texts = classTexts.get(clazz);
+        if (texts == null) {
+            texts = classTexts.putIfAbsent(clazz, new ClassTexts(clazz));
         }
+        return texts;
+    }
 
-        // look in properties of implemented interfaces
-        Class[] interfaces = clazz.getInterfaces();
-
-        for (Class anInterface : interfaces) {
-            msg = getMessage(anInterface.getName(), locale, key, valueStack, args);
-
-            if (msg != null) {
-                return msg;
-            }
-
-            if (indexedKey != null) {
-                msg = getMessage(anInterface.getName(), locale, indexedKey, valueStack, args);
-
-                if (msg != null) {
-                    return msg;
-                }
-            }
+    /**
+     * Looks for the message in the class or package bundles of a class, in search order. Where the key was found,
+     * or that it wasn't, is remembered per key and locale so the next lookups go straight to the right bundle.
+     */
+    private static String findMessage(ClassTexts texts, boolean inPackages, String key, String indexedKey, Locale locale,
+                                      Object[] args, ValueStack valueStack) {
+        String[] bundleNames = inPackages ? texts.packageBundles : texts.hierarchyBundles;
+        TextKey textKey = new TextKey(key, locale, inPackages);
+        Integer resolved = texts.resolutions.get(textKey);
+        if (resolved != null && resolved == ClassTexts.NOT_FOUND) {
+            return null;
         }
 
-        // traverse up hierarchy
-        if (clazz.isInterface()) {
-            interfaces = clazz.getInterfaces();
-
-            for (Class anInterface : interfaces) {
-                msg = findMessage(anInterface, key, indexedKey, locale, args, checked, valueStack);
-
-                if (msg != null) {
-                    return msg;
-                }
+        // each bundle is searched for the key, then for the indexed key
+        for (int i = (resolved == null) ? 0 : resolved; i < bundleNames.length * 2; i++) {
+            String candidateKey = (i % 2 == 0) ? key : indexedKey;
+            if (candidateKey == null) {
+                continue;
             }
-        } else {
-            if (!clazz.equals(Object.class) && !clazz.isPrimitive()) {
-                return findMessage(clazz.getSuperclass(), key, indexedKey, locale, args, checked, valueStack);
+            ResourceBundle bundle = findResourceBundle(bundleNames[i / 2], locale);
+            if (bundle == null) {
+                continue;
             }
-        }
-
-        return null;
-    }
-
-    private static void reloadBundles() {
-        reloadBundles(ActionContext.getContext() != null ? ActionContext.getContext().getContextMap() : null);
-    }
-
-    private static void reloadBundles(Map<String, Object> context) {
-        if (reloadBundles) {
+            String text;
             try {
-                Boolean reloaded;
-                if (context != null) {
-                    reloaded = (Boolean) ObjectUtils.defaultIfNull(context.get(RELOADED), Boolean.FALSE);
-                }else {
-                    reloaded = Boolean.FALSE;
-                }
-                if (!reloaded) {
-                    bundlesMap.clear();
-                    clearMap(ResourceBundle.class, null, "cacheList");
-                    // now, for the true and utter hack, if we're running in tomcat, clear
-                    // it's class loader resource cache as well.
-                    clearTomcatCache();
-                    if(context!=null)
-                        context.put(RELOADED, true);
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Resource bundles reloaded");
-                    }
-                }
-            } catch (Exception e) {
-                LOG.error("Could not reload resource bundles", e);
+                text = bundle.getString(candidateKey);
+            } catch (MissingResourceException e) {
+                continue;
             }
-        }
-    }
-
-
-    private static void clearTomcatCache() {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        // no need for compilation here.
-        Class cl = loader.getClass();
-
-        try {
-            if ("org.apache.catalina.loader.WebappClassLoader".equals(cl.getName())) {
-                clearMap(cl, loader, "resourceEntries");
-            } else {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("class loader " + cl.getName() + " is not tomcat loader.");
-                }
+            if (resolved == null) {
+                texts.resolved(textKey, i);
+                resolved = i;
             }
-        } catch (Exception e) {
-            if (LOG.isWarnEnabled()) {
-        	LOG.warn("couldn't clear tomcat cache", e);
+            // a text formatted as "null" doesn't count, the next bundles are searched
+            String msg = formatMessage(text, locale, valueStack, args);
+            if (msg != null) {
+                return msg;
             }
         }
-    }
 
-
-    private static void clearMap(Class cl, Object obj, String name)
-            throws NoSuchFieldException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
-
-        Field field = cl.getDeclaredField(name);
-        field.setAccessible(true);
-
-        Object cache = field.get(obj);
-
-        synchronized (cache) {
-            Class ccl = cache.getClass();
-            Method clearMethod = ccl.getMethod("clear");
-            clearMethod.invoke(cache);
+        if (resolved == null) {
+            texts.resolved(textKey, ClassTexts.NOT_FOUND);
         }
+        return null;
     }
 
     /**
@@ -850,7 +790,10 @@ public class LocalizedTextUtil {
     public static void reset() {
         clearDefaultResourceBundles();
         bundlesMap.clear();
-        messageFormats.clear();
+        bundleRevisions.clear();
+        messageTemplates.clear();
+        textTemplates.clear();
+        classTexts.clear();
     }
 
     static class MessageFormatKey {
@@ -886,6 +829,204 @@ public class LocalizedTextUtil {
         }
     }
 
+    /**
+     * The bundles searched for the texts of a class, in search order, and where the keys were found in them.
+     */
+    static class ClassTexts {
+        static final int NOT_FOUND = -1;
+        static final int MAX_RESOLUTIONS = 1000;
+
+        final String[] hierarchyBundles;
+        final String[] packageBundles;
+        final ConcurrentMap<TextKey, Integer> resolutions = new ConcurrentHashMap<TextKey, Integer>();
+
+        ClassTexts(Class clazz) {
+            Set<String> bundleNames = new LinkedHashSet<String>();
+            addHierarchyBundles(clazz, bundleNames);
+            hierarchyBundles = bundleNames.toArray(new String[bundleNames.size()]);
+
+            bundleNames.clear();
+            for (Class c = clazz; (c != null) && !c.equals(Object.class); c = c.getSuperclass()) {
+                String basePackageName = c.getName();
+                int index;
+                while ((index = basePackageName.lastIndexOf('.')) != -1) {
+                    basePackageName = basePackageName.substring(0, index);
+                    bundleNames.add(basePackageName + ".package");
+                }
+            }
+            packageBundles = bundleNames.toArray(new String[bundleNames.size()]);
+        }
+
+        /**
+         * The class, then its interfaces, before going up the hierarchy.
+         */
+        private static void addHierarchyBundles(Class clazz, Set<String> bundleNames) {
+            bundleNames.add(clazz.getName());
+
+            Class[] interfaces = clazz.getInterfaces();
+            for (Class anInterface : interfaces) {
+                bundleNames.add(anInterface.getName());
+            }
+
+            if (clazz.isInterface()) {
+                for (Class anInterface : interfaces) {
+                    addHierarchyBundles(anInterface, bundleNames);
+                }
+            } else if (!clazz.equals(Object.class) && !clazz.isPrimitive()) {
+                addHierarchyBundles(clazz.getSuperclass(), bundleNames);
+            }
+        }
+
+        void resolved(TextKey key, int position) {
+            // keys built at runtime, such as indexed ones, must not grow the map without limit
+            if (resolutions.size() < MAX_RESOLUTIONS) {
+                resolutions.put(key, position);
+            }
+        }
+    }
+
+    static class TextKey {
+        final String key;
+        final Locale locale;
+        final boolean inPackages;
+
+        TextKey(String key, Locale locale, boolean inPackages) {
+            this.key = key;
+            this.locale = locale;
+            this.inPackages = inPackages;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TextKey)) return false;
+
+            final TextKey textKey = (TextKey) o;
+
+            return inPackages == textKey.inPackages && key.equals(textKey.key)
+                    && (locale != null ? locale.equals(textKey.locale) : textKey.locale == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = key.hashCode();
+            result = 29 * result + (locale != null ? locale.hashCode() : 0);
+            return 29 * result + (inPackages ? 1 : 0);
+        }
+    }
+
+    /**
+     * The properties files a bundle may be loaded from, for the bundle's locale and the default locale, checked for
+     * changes when bundles are reloaded. The files packaged in jars aren't checked.
+     */
+    static class BundleRevision {
+        static final long CHECK_INTERVAL = 1000;
+        private static final long MISSING = -1;
+
+        private final ClassLoader loader;
+        private final String[] resourceNames;
+        private final File[] files;
+        private final long[] lastModified;
+        private volatile long nextCheck;
+
+        BundleRevision(String bundleName, Locale locale, ClassLoader loader) {
+            this.loader = loader;
+
+            Set<String> names = new LinkedHashSet<String>();
+            String baseName = bundleName.replace('.', '/');
+            addResourceNames(names, baseName, locale);
+            addResourceNames(names, baseName, Locale.getDefault());
+            resourceNames = names.toArray(new String[names.size()]);
+
+            files = new File[resourceNames.length];
+            lastModified = new long[resourceNames.length];
+            for (int i = 0; i < resourceNames.length; i++) {
+                URL url = (loader == null) ? null : loader.getResource(resourceNames[i]);
+                if (url == null) {
+                    lastModified[i] = MISSING;
+                } else {
+                    files[i] = toFile(url);
+                    lastModified[i] = (files[i] == null) ? 0 : files[i].lastModified();
+                }
+            }
+            nextCheck = System.currentTimeMillis() + CHECK_INTERVAL;
+        }
+
+        private static void addResourceNames(Set<String> names, String baseName, Locale locale) {
+            String language = locale.getLanguage();
+            String country = locale.getCountry();
+            String variant = locale.getVariant();
+            if (variant.length() > 0) {
+                names.add(baseName + "_" + language + "_" + country + "_" + variant + ".properties");
+            }
+            if (country.length() > 0) {
+                names.add(baseName + "_" + language + "_" + country + ".properties");
+            }
+            if (language.length() > 0) {
+                names.add(baseName + "_" + language + ".properties");
+            }
+            names.add(baseName + ".properties");
+        }
+
+        private static File toFile(URL url) {
+            if (!"file".equals(url.getProtocol())) {
+                return null;
+            }
+            try {
+                return new File(url.toURI());
+            } catch (URISyntaxException e) {
+                return new File(url.getPath());
+            }
+        }
+
+        /**
+         * @return <tt>true</tt> if one of the files was modified, or a missing one was created, since the bundle was
+         *         loaded
+         */
+        boolean needsReloading() {
+            long now = System.currentTimeMillis();
+            if (now < nextCheck) {
+                return false;
+            }
+            nextCheck = now + CHECK_INTERVAL;
+
+            for (int i = 0; i < resourceNames.length; i++) {
+                if (files[i] != null) {
+                    if (files[i].lastModified() != lastModified[i]) {
+                        return true;
+                    }
+                } else if (lastModified[i] == MISSING && loader != null && loader.getResource(resourceNames[i]) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads the bundles from their files instead of the caches of the class loaders.
+     */
+    private static class ReloadingClassLoader extends ClassLoader {
+        ReloadingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            URL url = getResource(name);
+            if (url == null) {
+                return null;
+            }
+            try {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                return connection.getInputStream();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
     static class GetDefaultMessageReturnArg {
         String message;
         boolean foundInBundle;
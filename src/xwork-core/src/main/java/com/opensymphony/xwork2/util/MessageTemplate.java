@@ -0,0 +1,330 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A localized text compiled once for a locale, rendered as {@link TextParseUtil#translateVariables(String, ValueStack)}
+ * followed by a {@link MessageFormat} would, without parsing the text again nor sharing a <code>MessageFormat</code>
+ * between threads.
+ * <p/>
+ * The text is split in literal segments, <code>${...}</code> and <code>%{...}</code> expressions and <code>{n}</code>
+ * arguments, rendered in a single pass. Texts using argument formats, such as <code>{0,number}</code>, are formatted
+ * by a copy of a <code>MessageFormat</code> parsed once. The few texts whose expressions could change the message
+ * pattern are translated then formatted. When expression values contain quotes or braces, the message pattern is
+ * built from the values already evaluated. The patterns containing values are parsed for each message, not cached.
+ */
+final class MessageTemplate {
+
+    private static final int COMPILED = 0;
+    private static final int FORMAT = 1;
+    private static final int TRANSLATE = 2;
+
+    private static final char[] OPEN_CHARS = {'$', '%'};
+    private static final Expression[] NO_EXPRESSIONS = new Expression[0];
+
+    private final String text;
+    private final Locale locale;
+    private final int mode;
+    private final Object[] segments;
+    private final MessageFormat format;
+    // the text split around its expressions, and the expressions in the order TextParseUtil evaluates them
+    private final Object[] parts;
+    private final Expression[] expressions;
+
+    private MessageTemplate(String text, Locale locale, int mode, Object[] segments, MessageFormat format) {
+        this(text, locale, mode, segments, format, null, NO_EXPRESSIONS);
+    }
+
+    private MessageTemplate(String text, Locale locale, int mode, Object[] segments, MessageFormat format,
+                            Object[] parts, Expression[] expressions) {
+        this.text = text;
+        this.locale = locale;
+        this.mode = mode;
+        this.segments = segments;
+        this.format = format;
+        this.parts = parts;
+        this.expressions = expressions;
+    }
+
+    /**
+     * @param text            the text
+     * @param locale          the locale of the numbers and dates
+     * @param withExpressions whether <code>${...}</code> and <code>%{...}</code> expressions are evaluated
+     * @return the compiled text
+     * @throws IllegalArgumentException if the text isn't a valid message pattern
+     */
+    static MessageTemplate compile(String text, Locale locale, boolean withExpressions) {
+        List<Object> parts = new ArrayList<Object>();
+        parts.add(text);
+        if (withExpressions && (!splitExpressions(parts, '$') || !splitExpressions(parts, '%'))) {
+            return new MessageTemplate(text, locale, TRANSLATE, null, null);
+        }
+
+        List<Object> segments = new ArrayList<Object>();
+        StringBuilder literal = new StringBuilder();
+        StringBuilder argument = null;
+        boolean inQuote = false;
+        boolean simple = true;
+
+        for (Object part : parts) {
+            if (part instanceof Expression) {
+                if (argument != null) {
+                    // the value would be part of the argument format
+                    return new MessageTemplate(text, locale, TRANSLATE, null, null);
+                }
+                addLiteral(segments, literal);
+                segments.add(part);
+                continue;
+            }
+
+            String chars = (String) part;
+            for (int i = 0; i < chars.length() && simple; i++) {
+                char c = chars.charAt(i);
+                if (argument != null) {
+                    if (c >= '0' && c <= '9' && argument.length() < 9) {
+                        argument.append(c);
+                    } else if (c == '}' && argument.length() > 0) {
+                        addLiteral(segments, literal);
+                        segments.add(Integer.valueOf(argument.toString()));
+                        argument = null;
+                    } else {
+                        simple = false;
+                    }
+                } else if (c == '\'') {
+                    if (i + 1 < chars.length() && chars.charAt(i + 1) == '\'') {
+                        literal.append(c);
+                        i++;
+                    } else {
+                        inQuote = !inQuote;
+                    }
+                } else if (c == '{' && !inQuote) {
+                    argument = new StringBuilder();
+                } else {
+                    literal.append(c);
+                }
+            }
+        }
+
+        if (!simple || argument != null) {
+            if (parts.size() > 1) {
+                return new MessageTemplate(text, locale, TRANSLATE, null, null);
+            }
+            // throws IllegalArgumentException for an invalid pattern, as before
+            return new MessageTemplate(text, locale, FORMAT, null, new MessageFormat(text, locale));
+        }
+        addLiteral(segments, literal);
+        if (parts.size() == 1) {
+            return new MessageTemplate(text, locale, COMPILED, segments.toArray(), null);
+        }
+
+        // all the ${...} expressions, then all the %{...} ones, in the order of the text
+        List<Expression> expressions = new ArrayList<Expression>();
+        for (char open : OPEN_CHARS) {
+            for (Object part : parts) {
+                if (part instanceof Expression && ((Expression) part).open == open) {
+                    ((Expression) part).index = expressions.size();
+                    expressions.add((Expression) part);
+                }
+            }
+        }
+        return new MessageTemplate(text, locale, COMPILED, segments.toArray(), null, parts.toArray(),
+                expressions.toArray(new Expression[expressions.size()]));
+    }
+
+    /**
+     * Splits the literal parts around the expressions opened by the given char, as TextParseUtil finds them.
+     *
+     * @return <tt>false</tt> if the expressions can't be evaluated separately from the rest of the text
+     */
+    private static boolean splitExpressions(List<Object> parts, char open) {
+        for (int p = 0; p < parts.size(); p++) {
+            if (!(parts.get(p) instanceof String)) {
+                continue;
+            }
+            String chars = (String) parts.get(p);
+            int start = chars.indexOf(open + "{");
+            if (start == -1) {
+                continue;
+            }
+
+            int count = 1;
+            int x = start + 2;
+            while (x < chars.length() && count != 0) {
+                char c = chars.charAt(x++);
+                if (c == '{') {
+                    count++;
+                } else if (c == '}') {
+                    count--;
+                }
+            }
+            if (count != 0) {
+                return false;
+            }
+
+            // what follows an expression is searched again by TextParseUtil from a position depending on the value
+            String rest = chars.substring(x);
+            if (rest.length() > 0 && "{$%'".indexOf(rest.charAt(0)) != -1) {
+                return false;
+            }
+            parts.remove(p);
+            parts.add(p, chars.substring(0, start));
+            parts.add(p + 1, new Expression(open, chars.substring(start + 2, x - 1)));
+            parts.add(p + 2, rest);
+            p++;
+        }
+        return true;
+    }
+
+    private static void addLiteral(List<Object> segments, StringBuilder literal) {
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * @param valueStack the stack the expressions are evaluated against
+     * @param args       the arguments, may be <tt>null</tt>
+     * @return the message
+     */
+    String format(ValueStack valueStack, Object[] args) {
+        switch (mode) {
+            case FORMAT:
+                return ((MessageFormat) format.clone()).format(args);
+            case TRANSLATE:
+                return translate(valueStack, args);
+        }
+
+        String[] values = new String[expressions.length];
+        boolean patternChars = false;
+        boolean dollarPatternChars = false;
+        for (Expression expression : expressions) {
+            if (dollarPatternChars && expression.open == '%') {
+                break;
+            }
+            Object value = valueStack.findValue(expression.expression, String.class);
+            String chars = (value != null) ? value.toString() : "";
+            values[expression.index] = chars;
+            if (hasPatternChars(chars)) {
+                patternChars = true;
+                dollarPatternChars |= (expression.open == '$');
+            }
+        }
+        if (dollarPatternChars) {
+            // the ${...} values may form %{...} expressions, evaluated on the text as TextParseUtil does
+            String pattern = TextParseUtil.translateVariables(new char[]{'%'}, join(values), valueStack, String.class, null).toString();
+            return formatPattern(pattern, valueStack, args);
+        }
+        if (patternChars) {
+            return formatPattern(join(values), valueStack, args);
+        }
+
+        StringBuilder message = new StringBuilder();
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                message.append((String) segment);
+            } else if (segment instanceof Integer) {
+                appendArgument(message, (Integer) segment, args);
+            } else {
+                message.append(values[((Expression) segment).index]);
+            }
+        }
+        return message.toString();
+    }
+
+    private String translate(ValueStack valueStack, Object[] args) {
+        return formatPattern(TextParseUtil.translateVariables(text, valueStack), valueStack, args);
+    }
+
+    /**
+     * Formats a message pattern containing expression values, not cached as the values change from one message to
+     * the other
+     */
+    private String formatPattern(String pattern, ValueStack valueStack, Object[] args) {
+        return compile(pattern, locale, false).format(valueStack, args);
+    }
+
+    /**
+     * @return the text with the evaluated expressions replaced by their values
+     */
+    private String join(String[] values) {
+        StringBuilder joined = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof String) {
+                joined.append((String) part);
+            } else {
+                Expression expression = (Expression) part;
+                String value = values[expression.index];
+                if (value != null) {
+                    joined.append(value);
+                } else {
+                    joined.append(expression.open).append('{').append(expression.expression).append('}');
+                }
+            }
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Appends an argument the way MessageFormat does without a format.
+     */
+    private void appendArgument(StringBuilder message, int index, Object[] args) {
+        if (args == null || index >= args.length) {
+            message.append('{').append(index).append('}');
+            return;
+        }
+        Object arg = args[index];
+        if (arg == null) {
+            message.append("null");
+        } else if (arg instanceof Number) {
+            message.append(NumberFormat.getInstance(locale).format(arg));
+        } else if (arg instanceof Date) {
+            message.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+        } else {
+            message.append(String.valueOf(arg.toString()));
+        }
+    }
+
+    private static boolean hasPatternChars(String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c == '\'' || c == '{' || c == '}') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Expression {
+        final char open;
+        final String expression;
+        // position in the evaluation order, set once compiled
+        int index;
+
+        Expression(char open, String expression) {
+            this.open = open;
+            this.expression = expression;
+        }
+    }
+}
@@ -152,6 +152,48 @@ public class WildcardHelper implements PatternMatcher<int[]> {
         return expr;
     }
 
+    /**
+     * Gets the characters a string must start with to match the compiled
+     * pattern, i.e. the characters before the first wildcard.
+     *
+     * @param expr The compiled wildcard expression
+     * @return The literal prefix of the pattern, may be empty
+     */
+    public String getLiteralPrefix(int[] expr) {
+        StringBuilder prefix = new StringBuilder();
+        for (int x = (expr[0] == MATCH_BEGIN) ? 1 : 0; expr[x] >= 0; x++) {
+            prefix.append((char) expr[x]);
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Gets the characters a string must end with to match the compiled
+     * pattern, i.e. the characters after the last wildcard.
+     *
+     * @param expr The compiled wildcard expression
+     * @return The literal suffix of the pattern, may be empty
+     */
+    public String getLiteralSuffix(int[] expr) {
+        int end = 0;
+        while (expr[end] != MATCH_THEEND && expr[end] != MATCH_END) {
+            end++;
+        }
+        if (expr[end] == MATCH_END) {
+            // the rest of the data isn't checked
+            return "";
+        }
+        int start = end;
+        while (start > 0 && expr[start - 1] >= 0) {
+            start--;
+        }
+        StringBuilder suffix = new StringBuilder();
+        for (int x = start; x < end; x++) {
+            suffix.append((char) expr[x]);
+        }
+        return suffix.toString();
+    }
+
     /**
      * Match a pattern agains a string and isolates wildcard replacement into
      * a <code>Stack</code>.
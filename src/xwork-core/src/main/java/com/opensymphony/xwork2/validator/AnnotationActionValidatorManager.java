@@ -22,7 +22,6 @@ import com.opensymphony.xwork2.ActionProxy;
 import com.opensymphony.xwork2.config.entities.ActionConfig;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.FileManager;
-import com.opensymphony.xwork2.util.ValueStack;
 import com.opensymphony.xwork2.util.logging.Logger;
 import com.opensymphony.xwork2.util.logging.LoggerFactory;
 import com.opensymphony.xwork2.validator.validators.VisitorFieldValidator;
@@ -33,11 +32,11 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AnnotationActionValidatorManager is the entry point into XWork's annotations-based validator framework.
@@ -53,8 +52,8 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
      */
     protected static final String VALIDATION_CONFIG_SUFFIX = "-validation.xml";
 
-    private final Map<String, List<ValidatorConfig>> validatorCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
-    private final Map<String, List<ValidatorConfig>> validatorFileCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
+    private final Map<String, ValidatorPlan> validatorCache = new ConcurrentHashMap<String, ValidatorPlan>();
+    private final Map<String, List<ValidatorConfig>> validatorFileCache = new ConcurrentHashMap<String, List<ValidatorConfig>>();
     private static final Logger LOG = LoggerFactory.getLogger(AnnotationActionValidatorManager.class);
 
     private ValidatorFactory validatorFactory;
@@ -76,36 +75,14 @@ public class AnnotationActionValidatorManager implements ActionValidatorManager
 
     public List<Validator> getValidators(Class clazz, String context, String method) {
         final String validatorKey = buildValidatorKey(clazz);
-        final List<ValidatorConfig> cfgs;
 
-        if (validatorCache.containsKey(validatorKey)) {
-            if (FileManager.isReloadingConfigs()) {
-                validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, true, null));
-            }
-        } else {
-            validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, false, null));
-        }
-
-        // get the set of validator configs
-        cfgs = new ArrayList<ValidatorConfig>(validatorCache.get(validatorKey));
-
-        ValueStack stack = ActionContext.getContext().getValueStack();
-
-        // create clean instances of the validators for the caller's use
-        ArrayList<Validator> validators = new ArrayList<Validator>(cfgs.size());
-        for (ValidatorConfig cfg : cfgs) {
-            if (method == null || method.equals(cfg.getParams().get("methodName"))) {
-                Validator validator = validatorFactory.getValidator(
-                        new ValidatorConfig.Builder(cfg)
-                                .removeParam("methodName")
-                                .build());
-                validator.setValidatorType(cfg.getType());
-                validator.setValueStack(stack);
-                validators.add(validator);
-            }
+        ValidatorPlan plan = validatorCache.get(validatorKey);
+        if (plan == null || FileManager.isReloadingConfigs()) {
+            plan = new ValidatorPlan(validatorFactory, buildValidatorConfigs(clazz, context, plan != null, null), true);
+            validatorCache.put(validatorKey, plan);
         }
 
-        return validators;
+        return plan.getValidators(method, ActionContext.getContext().getValueStack());
     }
 
     public void validate(Object object, String context) throws ValidationException {
@@ -18,7 +18,6 @@ package com.opensymphony.xwork2.validator;
 import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.util.FileManager;
-import com.opensymphony.xwork2.util.ValueStack;
 import com.opensymphony.xwork2.util.logging.Logger;
 import com.opensymphony.xwork2.util.logging.LoggerFactory;
 import com.opensymphony.xwork2.validator.validators.VisitorFieldValidator;
@@ -26,6 +25,7 @@ import com.opensymphony.xwork2.validator.validators.VisitorFieldValidator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -46,8 +46,8 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
     /** The file suffix for any validation file. */
     protected static final String VALIDATION_CONFIG_SUFFIX = "-validation.xml";
 
-    private final Map<String, List<ValidatorConfig>> validatorCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
-    private final Map<String, List<ValidatorConfig>> validatorFileCache = Collections.synchronizedMap(new HashMap<String, List<ValidatorConfig>>());
+    private final Map<String, ValidatorPlan> validatorCache = new ConcurrentHashMap<String, ValidatorPlan>();
+    private final Map<String, List<ValidatorConfig>> validatorFileCache = new ConcurrentHashMap<String, List<ValidatorConfig>>();
     private final Logger LOG = LoggerFactory.getLogger(DefaultActionValidatorManager.class);
     private ValidatorFactory validatorFactory;
     private ValidatorFileParser validatorFileParser;
@@ -62,36 +62,20 @@ public class DefaultActionValidatorManager implements ActionValidatorManager {
         this.validatorFactory = fac;
     }
 
-    public synchronized List<Validator> getValidators(Class clazz, String context) {
+    public List<Validator> getValidators(Class clazz, String context) {
         return getValidators(clazz, context, null);
     }
 
-    public synchronized List<Validator> getValidators(Class clazz, String context, String method) {
+    public List<Validator> getValidators(Class clazz, String context, String method) {
         final String validatorKey = buildValidatorKey(clazz, context);
 
-        if (validatorCache.containsKey(validatorKey)) {
-            if (FileManager.isReloadingConfigs()) {
-                validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, true, null));
-            }
-        } else {
-            validatorCache.put(validatorKey, buildValidatorConfigs(clazz, context, false, null));
+        ValidatorPlan plan = validatorCache.get(validatorKey);
+        if (plan == null || FileManager.isReloadingConfigs()) {
+            plan = new ValidatorPlan(validatorFactory, buildValidatorConfigs(clazz, context, plan != null, null), false);
+            validatorCache.put(validatorKey, plan);
         }
-        ValueStack stack = ActionContext.getContext().getValueStack();
-
-        // get the set of validator configs
-        List<ValidatorConfig> cfgs = validatorCache.get(validatorKey);
-
-        // create clean instances of the validators for the caller's use
-        ArrayList<Validator> validators = new ArrayList<Validator>(cfgs.size());
-        for (ValidatorConfig cfg : cfgs) {
-            if (method == null || method.equals(cfg.getParams().get("methodName"))) {
-                Validator validator = validatorFactory.getValidator(cfg);
-                validator.setValidatorType(cfg.getType());
-                validator.setValueStack(stack);
-                validators.add(validator);
-            }
-        }
-        return validators;
+
+        return plan.getValidators(method, ActionContext.getContext().getValueStack());
     }
 
     public void validate(Object object, String context) throws ValidationException {
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2002-2007,2009 The Apache Software Foundation.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.validator;
+
+
+/**
+ * This interface should be implemented by validators keeping state, other than their configuration, validator context
+ * and value stack, which must not be shared between validations. A new instance of such validators is built from its
+ * configuration for each validation, instead of copying an instance built once.
+ *
+ * @see com.opensymphony.xwork2.validator.validators.ValidatorSupport#copy()
+ */
+public interface StatefulValidator {
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2007,2009 The Apache Software Foundation.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.validator;
+
+import com.opensymphony.xwork2.util.ValueStack;
+import com.opensymphony.xwork2.validator.validators.ValidatorSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The validators configured for a class, each built once from its configuration then copied for each validation.
+ * <p/>
+ * Only the validators extending {@link ValidatorSupport} are copied, the others and the {@link StatefulValidator}s are
+ * built for each validation.
+ */
+class ValidatorPlan {
+
+    private final ValidatorFactory validatorFactory;
+    private final Entry[] entries;
+
+    /**
+     * @param validatorFactory the factory building the validators
+     * @param configs          the configurations of the validators
+     * @param removeMethodName whether the <code>methodName</code> parameter is removed before building the validators
+     */
+    ValidatorPlan(ValidatorFactory validatorFactory, List<ValidatorConfig> configs, boolean removeMethodName) {
+        this.validatorFactory = validatorFactory;
+        entries = new Entry[configs.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(configs.get(i), removeMethodName);
+        }
+    }
+
+    /**
+     * @param method the method validated, <tt>null</tt> for the validators of all the methods
+     * @param stack  the value stack of the validation
+     * @return clean instances of the validators for the caller's use
+     */
+    List<Validator> getValidators(String method, ValueStack stack) {
+        ArrayList<Validator> validators = new ArrayList<Validator>(entries.length);
+        for (Entry entry : entries) {
+            if (method == null || method.equals(entry.methodName)) {
+                Validator validator = entry.newValidator(validatorFactory);
+                validator.setValueStack(stack);
+                validators.add(validator);
+            }
+        }
+        return validators;
+    }
+
+    private static class Entry {
+        private final ValidatorConfig config;
+        private final Object methodName;
+        private volatile ValidatorSupport prototype;
+        private volatile boolean copyable = true;
+
+        Entry(ValidatorConfig config, boolean removeMethodName) {
+            this.methodName = config.getParams().get("methodName");
+            this.config = removeMethodName ? new ValidatorConfig.Builder(config).removeParam("methodName").build() : config;
+        }
+
+        Validator newValidator(ValidatorFactory validatorFactory) {
+            ValidatorSupport validator = prototype;
+            if (validator != null) {
+                return validator.copy();
+            }
+
+            Validator built = validatorFactory.getValidator(config);
+            built.setValidatorType(config.getType());
+            if (copyable) {
+                if (built instanceof ValidatorSupport && !(built instanceof StatefulValidator)) {
+                    // the prototype itself is never handed out, so that it is never changed
+                    prototype = (ValidatorSupport) built;
+                    return prototype.copy();
+                }
+                copyable = false;
+            }
+            return built;
+        }
+    }
+}
@@ -96,7 +96,6 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
             return;
         }
 
-        parseParameterValues();
         if ((maxInclusiveValue != null && value.compareTo(maxInclusiveValue) > 0) ||
                 (minInclusiveValue != null && value.compareTo(minInclusiveValue) < 0) ||
                 (maxExclusiveValue != null && value.compareTo(maxExclusiveValue) >= 0) ||
@@ -105,13 +104,6 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
         }
     }
 
-    private void parseParameterValues() {
-        this.minInclusiveValue = parseDouble(minInclusive);
-        this.maxInclusiveValue = parseDouble(maxInclusive);
-        this.minExclusiveValue = parseDouble(minExclusive);
-        this.maxExclusiveValue = parseDouble(maxExclusive);
-    }
-
     private Double parseDouble (String value) {
         if (value != null) {
             try {
@@ -127,6 +119,7 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
 
     public void setMaxInclusive(String maxInclusive) {
         this.maxInclusive = maxInclusive;
+        this.maxInclusiveValue = parseDouble(maxInclusive);
     }
 
     public String getMaxInclusive() {
@@ -135,6 +128,7 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
 
     public void setMinInclusive(String minInclusive) {
         this.minInclusive = minInclusive;
+        this.minInclusiveValue = parseDouble(minInclusive);
     }
 
     public String getMinInclusive() {
@@ -147,6 +141,7 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
 
     public void setMinExclusive(String minExclusive) {
         this.minExclusive = minExclusive;
+        this.minExclusiveValue = parseDouble(minExclusive);
     }
 
     public String getMaxExclusive() {
@@ -155,6 +150,7 @@ public class DoubleRangeFieldValidator extends FieldValidatorSupport {
 
     public void setMaxExclusive(String maxExclusive) {
         this.maxExclusive = maxExclusive;
+        this.maxExclusiveValue = parseDouble(maxExclusive);
     }
 }
 // END SNIPPET: field-level-validator
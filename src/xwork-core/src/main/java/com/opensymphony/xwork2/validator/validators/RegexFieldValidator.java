@@ -16,6 +16,7 @@
 
 package com.opensymphony.xwork2.validator.validators;
 
+import com.opensymphony.xwork2.util.BoundedCache;
 import com.opensymphony.xwork2.validator.ValidationException;
 
 import java.util.regex.Matcher;
@@ -62,6 +63,24 @@ import java.util.regex.Pattern;
  */
 public class RegexFieldValidator extends FieldValidatorSupport {
 
+    private static final int MAX_CACHED_PATTERNS = 1000;
+
+    private static final BoundedCache.Loader<String, Pattern, RuntimeException> PATTERN_COMPILER = new BoundedCache.Loader<String, Pattern, RuntimeException>() {
+        public Pattern load(String expression) {
+            return Pattern.compile(expression);
+        }
+    };
+
+    private static final BoundedCache.Loader<String, Pattern, RuntimeException> CASE_INSENSITIVE_PATTERN_COMPILER = new BoundedCache.Loader<String, Pattern, RuntimeException>() {
+        public Pattern load(String expression) {
+            return Pattern.compile(expression, Pattern.CASE_INSENSITIVE);
+        }
+    };
+
+    // patterns are immutable, shared by all the validators of an expression
+    private static final BoundedCache<String, Pattern> patterns = new BoundedCache<String, Pattern>(MAX_CACHED_PATTERNS);
+    private static final BoundedCache<String, Pattern> caseInsensitivePatterns = new BoundedCache<String, Pattern>(MAX_CACHED_PATTERNS);
+
     private String expression;
     private boolean caseSensitive = true;
     private boolean trim = true;
@@ -87,12 +106,7 @@ public class RegexFieldValidator extends FieldValidatorSupport {
         }
 
         // match against expression
-        Pattern pattern;
-        if (isCaseSensitive()) {
-            pattern = Pattern.compile(expression);
-        } else {
-            pattern = Pattern.compile(expression, Pattern.CASE_INSENSITIVE);
-        }
+        Pattern pattern = getPattern();
 
         String compare = (String) value;
         if ( trim ) {
@@ -105,6 +119,17 @@ public class RegexFieldValidator extends FieldValidatorSupport {
         }
     }
 
+    /**
+     * @return the compiled expression, compiled once per expression and case sensitivity
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    protected Pattern getPattern() {
+        if (isCaseSensitive()) {
+            return patterns.get(expression, PATTERN_COMPILER);
+        }
+        return caseInsensitivePatterns.get(expression, CASE_INSENSITIVE_PATTERN_COMPILER);
+    }
+
     /**
      * @return Returns the regular expression to be matched.
      */
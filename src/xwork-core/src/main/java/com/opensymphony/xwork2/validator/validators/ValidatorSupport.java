@@ -37,7 +37,7 @@ import java.util.List;
  * @author tm_jee
  * @author Martin Gilday
  */
-public abstract class ValidatorSupport implements Validator, ShortCircuitableValidator {
+public abstract class ValidatorSupport implements Validator, ShortCircuitableValidator, Cloneable {
 
     protected final Logger log = LoggerFactory.getLogger(this.getClass());
     protected String defaultMessage = "";
@@ -54,6 +54,26 @@ public abstract class ValidatorSupport implements Validator, ShortCircuitableVal
         this.stack = stack;
     }
 
+    /**
+     * Copies this validator for a validation, instead of building it again from its configuration. The copy shares
+     * the configuration of this validator and gets its own validator context and value stack.
+     * <p/>
+     * Validators keeping other state which must not be shared between validations should implement
+     * {@link com.opensymphony.xwork2.validator.StatefulValidator}, to be built for each validation.
+     *
+     * @return the copy
+     */
+    public ValidatorSupport copy() {
+        try {
+            ValidatorSupport copy = (ValidatorSupport) clone();
+            copy.validatorContext = null;
+            copy.stack = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to copy validator " + this, e);
+        }
+    }
+
     public void setDefaultMessage(String message) {
         if (StringUtils.isNotEmpty(message)) {
             this.defaultMessage = message;
@@ -4,6 +4,7 @@ import com.opensymphony.xwork2.config.entities.InterceptorMapping;
 import com.opensymphony.xwork2.mock.MockActionProxy;
 import com.opensymphony.xwork2.mock.MockInterceptor;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +45,35 @@ public class DefaultActionInvocationTest extends XWorkTestCase {
         assertTrue(mockInterceptor3.isExecuted());
     }
 
+    public void testActionMethodResolution() throws Exception {
+        DefaultActionInvocation invocation = new DefaultActionInvocationTester(new ArrayList<InterceptorMapping>());
+
+        Method execute = invocation.getActionMethod(SimpleAction.class, "execute");
+        assertNotNull(execute);
+        assertEquals("execute", execute.getName());
+        assertSame(execute, invocation.getActionMethod(SimpleAction.class, "execute"));
+
+        Method save = invocation.getActionMethod(DoMethodAction.class, "save");
+        assertNotNull(save);
+        assertEquals("doSave", save.getName());
+
+        assertNull(invocation.getActionMethod(SimpleAction.class, "doesNotExist"));
+        assertNull(invocation.getActionMethod(SimpleAction.class, "doesNotExist"));
+        assertNull(invocation.getActionMethod(SimpleAction.class, "configuredButMissing", true));
+        assertNull(invocation.getActionMethod(SimpleAction.class, "configuredButMissing", true));
+
+        // the number of names cached per class is bounded, the lookups still resolve past it
+        for (int i = 0; i < 200; i++) {
+            assertNull(invocation.getActionMethod(DoMethodAction.class, "missing" + i, true));
+        }
+        assertSame(save, invocation.getActionMethod(DoMethodAction.class, "save"));
+    }
+
+    public static class DoMethodAction {
+        public String doSave() {
+            return Action.SUCCESS;
+        }
+    }
 
     class DefaultActionInvocationTester extends DefaultActionInvocation {
         DefaultActionInvocationTester(List<InterceptorMapping> interceptorMappings) {
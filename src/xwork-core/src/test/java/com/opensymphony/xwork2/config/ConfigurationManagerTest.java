@@ -67,6 +67,66 @@ public class ConfigurationManagerTest extends XWorkTestCase {
         configProviderMock.expect("destroy");
     }
 
+    public void testReloadWatcherKeepsReloadOffRequestPath() {
+        FileManager.setReloadingConfigs(true);
+
+        configurationManager.startReloadWatcher(60000);
+        try {
+            assertTrue(configurationManager.isReloadWatcherRunning());
+
+            // needsReload isn't expected, the watcher thread is in charge of checking the providers
+            Configuration configuration = configurationManager.getConfiguration();
+            assertSame(configuration, configurationManager.getConfiguration());
+            configProviderMock.verify();
+        } finally {
+            configurationManager.stopReloadWatcher();
+        }
+        assertFalse(configurationManager.isReloadWatcherRunning());
+
+        // this will be called in teardown
+        configProviderMock.expect("destroy");
+    }
+
+    public void testFailedBackgroundReloadIsThrown() {
+        FileManager.setReloadingConfigs(true);
+
+        final boolean[] failing = new boolean[1];
+        ConfigurationManager configurationManager = new ConfigurationManager();
+        configurationManager.addContainerProvider(new XWorkConfigurationProvider());
+        configurationManager.addContainerProvider(new ConfigurationProvider() {
+            public void destroy() {
+            }
+            public void init(Configuration configuration) throws ConfigurationException {
+            }
+            public void loadPackages() throws ConfigurationException {
+                if (failing[0]) {
+                    throw new ConfigurationException("testing testing 123");
+                }
+            }
+            public boolean needsReload() {
+                return failing[0];
+            }
+            public void register(ContainerBuilder builder, LocatableProperties props) throws ConfigurationException {
+            }
+        });
+        Configuration configuration = configurationManager.getConfiguration();
+
+        failing[0] = true;
+        try {
+            configurationManager.reloadInBackground();
+            fail("the failed reload should be thrown");
+        } catch (ConfigurationException e) {
+            assertEquals("testing testing 123", e.getMessage());
+        }
+
+        failing[0] = false;
+        assertSame(configuration, configurationManager.getConfiguration());
+        configurationManager.destroyConfiguration();
+
+        // this will be called in teardown
+        configProviderMock.expect("destroy");
+    }
+
     public void testDestroyConfiguration() throws Exception {
     	class State {
     		public boolean isDestroyed1 =false;
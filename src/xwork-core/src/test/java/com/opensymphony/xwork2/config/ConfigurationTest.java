@@ -117,6 +117,32 @@ public class ConfigurationTest extends XWorkTestCase {
         assertTrue("Wrong parameter, "+p.get("1"), "dog".equals(p.get("1")));
     }
 
+    public void testResolvedActionConfigsAreReused() {
+        RuntimeConfiguration configuration = configurationManager.getConfiguration().getRuntimeConfiguration();
+
+        ActionConfig wildcard = configuration.getActionConfig("", "WildCard/Simple/input");
+        assertNotNull(wildcard);
+        assertSame(wildcard, configuration.getActionConfig("", "WildCard/Simple/input"));
+
+        ActionConfig namespaced = configuration.getActionConfig("/animals/dog", "commandTest");
+        assertNotNull(namespaced);
+        assertSame(namespaced, configuration.getActionConfig("/animals/dog", "commandTest"));
+
+        assertNull(configuration.getActionConfig("/does/not/exist", "doesNotExist"));
+        assertNull(configuration.getActionConfig("/does/not/exist", "doesNotExist"));
+    }
+
+    public void testActionConfigsAreUnmodifiable() {
+        RuntimeConfiguration configuration = configurationManager.getConfiguration().getRuntimeConfiguration();
+
+        try {
+            configuration.getActionConfigs().clear();
+            fail("Runtime configuration should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     public void testGlobalResults() {
         try {
             ActionProxy proxy = actionProxyFactory.createActionProxy("", "Foo", null);
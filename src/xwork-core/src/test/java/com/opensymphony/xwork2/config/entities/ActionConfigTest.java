@@ -16,6 +16,7 @@
 package com.opensymphony.xwork2.config.entities;
 
 import com.opensymphony.xwork2.XWorkTestCase;
+import com.opensymphony.xwork2.mock.MockInterceptor;
 import com.opensymphony.xwork2.util.location.LocationImpl;
 
 /**
@@ -41,4 +42,21 @@ public class ActionConfigTest extends XWorkTestCase {
         assertTrue("Wrong toString(): "+cfg.toString(),
             "{ActionConfig bob (foo.Bar) - foo/xwork.xml:10:12}".equals(cfg.toString()));
     }
+
+    public void testInterceptorChain() {
+        MockInterceptor first = new MockInterceptor();
+        MockInterceptor second = new MockInterceptor();
+        ActionConfig cfg = new ActionConfig.Builder("", "bob", "foo.Bar")
+                .addInterceptor(new InterceptorMapping("first", first))
+                .addInterceptor(new InterceptorMapping("second", second))
+                .build();
+
+        InterceptorChain chain = cfg.getInterceptorChain();
+        assertSame(chain, cfg.getInterceptorChain());
+        assertEquals(2, chain.size());
+        assertSame(first, chain.getInterceptor(0));
+        assertSame(second, chain.getInterceptor(1));
+        assertEquals("second", chain.getMapping(1).getName());
+        assertEquals("interceptor: first", chain.getProfileKey(0));
+    }
 }
@@ -22,8 +22,10 @@ import com.opensymphony.xwork2.config.entities.ActionConfig;
 import com.opensymphony.xwork2.config.entities.ExceptionMappingConfig;
 import com.opensymphony.xwork2.config.entities.InterceptorMapping;
 import com.opensymphony.xwork2.config.entities.ResultConfig;
+import com.opensymphony.xwork2.util.WildcardHelper;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ActionConfigMatcherTest extends XWorkTestCase {
@@ -132,6 +134,21 @@ public class ActionConfigMatcherTest extends XWorkTestCase {
         
     }
 
+    public void testFirstMatchingPatternWins() {
+        Map<String, ActionConfig> configs = new LinkedHashMap<String, ActionConfig>();
+        for (String name : new String[] {"user_*", "*_list", "*_*", "user_list", "*/edit", "**"}) {
+            configs.put(name, new ActionConfig.Builder("package-" + name, name, "foo.bar.Action").build());
+        }
+        ActionConfigMatcher matcher = new ActionConfigMatcher(new WildcardHelper(), configs, false);
+
+        assertEquals("package-user_*", matcher.match("user_list").getPackageName());
+        assertEquals("package-*_list", matcher.match("order_list").getPackageName());
+        assertEquals("package-*_*", matcher.match("order_edit").getPackageName());
+        assertEquals("package-*/edit", matcher.match("order/edit").getPackageName());
+        assertEquals("package-**", matcher.match("order/list").getPackageName());
+        assertEquals("package-**", matcher.match("").getPackageName());
+    }
+
     private Map<String,ActionConfig> buildActionConfigMap() {
         Map<String, ActionConfig> map = new HashMap<String,ActionConfig>();
 
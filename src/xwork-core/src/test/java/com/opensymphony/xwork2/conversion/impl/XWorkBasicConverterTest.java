@@ -17,9 +17,12 @@ package com.opensymphony.xwork2.conversion.impl;
 
 import com.opensymphony.xwork2.ActionContext;
 import com.opensymphony.xwork2.XWorkException;
+import com.opensymphony.xwork2.conversion.TypeConverter;
 import com.opensymphony.xwork2.test.annotations.Person;
 import junit.framework.TestCase;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DateFormat;
 import java.util.*;
 import java.lang.reflect.Member;
@@ -247,6 +250,53 @@ public class XWorkBasicConverterTest extends TestCase {
     }
 
 
+    public void testInvalidValuesAreNotConvertible() {
+        XWorkBasicConverter basicConverter = new XWorkBasicConverter();
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put(ActionContext.LOCALE, Locale.US);
+
+        Object[][] invalid = {
+                {"12a", int.class}, {"", int.class}, {"-", long.class}, {"99999999999999999999", long.class},
+                {"300", byte.class}, {"1.2.3", double.class}, {"1e", double.class}, {"1e400", double.class},
+                {"abc", Integer.class}, {"1,2x", Double.class}, {"40000", Short.class},
+                {"1.2x", BigDecimal.class}, {"1e99999999999", BigDecimal.class}, {"12.5", BigInteger.class},
+                {"asdsd", Date.class}, {"asdsd", java.sql.Timestamp.class}, {"asdsd", Calendar.class},
+                {"UNKNOWN", ParentClass.NestedEnum.class}, {new String[]{"x"}, int.class}
+        };
+        for (Object[] test : invalid) {
+            assertSame(test[0] + " to " + test[1], TypeConverter.NO_CONVERSION_POSSIBLE,
+                    basicConverter.tryConvertValue(context, null, null, null, test[0], (Class) test[1]));
+            try {
+                basicConverter.convertValue(context, null, null, null, test[0], (Class) test[1]);
+                fail("XWorkException expected for " + test[0] + " to " + test[1]);
+            } catch (XWorkException e) {
+                // conversion error
+            }
+        }
+    }
+
+    public void testValidValuesAreConverted() {
+        XWorkBasicConverter basicConverter = new XWorkBasicConverter();
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put(ActionContext.LOCALE, Locale.US);
+
+        assertEquals(new Integer(-12), basicConverter.tryConvertValue(context, null, null, null, " -12 ", int.class));
+        assertEquals(new Long(Long.MIN_VALUE), basicConverter.tryConvertValue(context, null, null, null, String.valueOf(Long.MIN_VALUE), long.class));
+        assertEquals(new Double(0.0), basicConverter.tryConvertValue(context, null, null, null, "", double.class));
+        assertEquals(new Double(1500), basicConverter.tryConvertValue(context, null, null, null, "1.5e3", double.class));
+        assertEquals(new Double(Double.POSITIVE_INFINITY), basicConverter.tryConvertValue(context, null, null, null, "Infinity", double.class));
+        assertEquals(new Integer(1234), basicConverter.tryConvertValue(context, null, null, null, "1,234", Integer.class));
+        assertEquals(new Double(1234.5), basicConverter.tryConvertValue(context, null, null, null, "1,234.5", Double.class));
+        assertNull(basicConverter.tryConvertValue(context, null, null, null, "", Integer.class));
+        assertEquals(new BigDecimal("-1.5E+3"), basicConverter.tryConvertValue(context, null, null, null, "-1.5E+3", BigDecimal.class));
+        assertEquals(new BigInteger("-123456789012345678901"), basicConverter.tryConvertValue(context, null, null, null, "-123456789012345678901", BigInteger.class));
+        assertEquals(ParentClass.NestedEnum.TEST, basicConverter.tryConvertValue(context, null, null, null, "TEST", ParentClass.NestedEnum.class));
+        assertNull(basicConverter.tryConvertValue(context, null, null, null, "", ParentClass.NestedEnum.class));
+
+        context.put(ActionContext.LOCALE, Locale.GERMANY);
+        assertEquals(new Double(1234.5), basicConverter.tryConvertValue(context, null, null, null, "1.234,5", Double.class));
+    }
+
     public void testConvert() {
         XWorkBasicConverter converter = new XWorkBasicConverter();
         Map context = new HashMap();
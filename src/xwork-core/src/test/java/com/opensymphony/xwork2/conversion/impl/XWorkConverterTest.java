@@ -222,6 +222,63 @@ public class XWorkConverterTest extends XWorkTestCase {
         assertEquals(value, b.getTitle() + ":" + b.getSomethingElse());
     }
 
+    public void testConverterMappingsArePublishedOnce() throws Exception {
+        final Class modelClass = new ModelDrivenAction2().getModel().getClass();
+        final Object[] converters = new Object[8];
+        Thread[] threads = new Thread[converters.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    converters[index] = converter.getConverter(modelClass, "barObj");
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        Object barConverter = converter.getConverter(modelClass, "barObj");
+        assertNotNull(barConverter);
+        for (Object c : converters) {
+            assertNotNull(c);
+            assertSame(c.getClass(), barConverter.getClass());
+        }
+        try {
+            converter.getCachedMapping(modelClass).put("barObj", null);
+            fail("published mappings should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        assertNull(converter.getConverter(String.class, "bytes"));
+        assertSame(XWorkConverter.NO_MAPPING, converter.getCachedMapping(String.class));
+    }
+
+    public void testDeprecatedMappingsOfSubclassesAreUsed() {
+        final FooBarConverter fooConverter = new FooBarConverter();
+        final FooNumberConverter barConverter = new FooNumberConverter();
+        XWorkConverter subclass = new XWorkConverter() {
+            {
+                defaultMappings.put(Foo.class.getName(), fooConverter);
+                unknownMappings.add(Bar.class.getName());
+                Map<String, Object> mapping = new HashMap<String, Object>();
+                mapping.put("title", barConverter);
+                mappings.put(Bar.class, mapping);
+                noMapping.add(Foo.class);
+            }
+        };
+        container.inject(subclass);
+        subclass.registerConverter(Bar.class.getName(), barConverter);
+
+        assertSame(fooConverter, subclass.lookup(Foo.class));
+        assertNull(subclass.lookup(Bar.class));
+        assertSame(barConverter, subclass.getConverter(Bar.class, "title"));
+        assertNotNull(converter.getConverter(Foo.class, "bar"));
+        assertNull(subclass.getConverter(Foo.class, "bar"));
+    }
+
     public void testLocalizedDateConversion() throws Exception {
         Date date = new Date(System.currentTimeMillis());
         Locale locale = Locale.GERMANY;
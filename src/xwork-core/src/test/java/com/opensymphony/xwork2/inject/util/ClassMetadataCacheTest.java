@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.inject.util;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for ClassMetadataCache.
+ */
+public class ClassMetadataCacheTest extends TestCase {
+
+    public void testGetAndPut() {
+        ClassMetadataCache<String> cache = new ClassMetadataCache<String>("test");
+        assertNull(cache.get(String.class));
+        cache.put(String.class, "string");
+        assertEquals("string", cache.get(String.class));
+
+        assertEquals("string", cache.putIfAbsent(String.class, "other"));
+        assertEquals("integer", cache.putIfAbsent(Integer.class, "integer"));
+        cache.put(String.class, "replaced");
+        assertEquals("replaced", cache.get(String.class));
+
+        cache.remove(Integer.class);
+        assertNull(cache.get(Integer.class));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    public void testEvictsOverMaxSize() {
+        ClassMetadataCache<String> cache = new ClassMetadataCache<String>("test", 10);
+        Class<?>[] classes = {String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class,
+                Float.class, Character.class, Boolean.class, Object.class, Number.class, Class.class};
+        for (Class<?> clazz : classes) {
+            cache.put(clazz, clazz.getName());
+        }
+        assertTrue(cache.size() <= 10);
+        assertEquals(classes.length - cache.size(), cache.getEvictionCount());
+    }
+
+    public void testDoesNotPinClassLoaders() throws Exception {
+        ClassMetadataCache<String> cache = new ClassMetadataCache<String>("test");
+        URL classes = Bean.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{classes}, null);
+        Class<?> clazz = loader.loadClass(Bean.class.getName());
+        assertNotSame(Bean.class, clazz);
+        cache.put(clazz, "bean");
+        assertEquals("bean", cache.get(clazz));
+
+        loader = null;
+        clazz = null;
+        for (int i = 0; i < 20 && cache.getCollectedCount() == 0; i++) {
+            System.gc();
+            Thread.sleep(50);
+            cache.get(String.class);
+        }
+        assertEquals(1, cache.getCollectedCount());
+        assertEquals(0, cache.size());
+    }
+
+    public static class Bean {
+    }
+}
@@ -416,6 +416,46 @@ public class ParametersInterceptorTest extends XWorkTestCase {
         assertEquals(true, pi.isOrdered());
     }
 
+    public void testClassifiedNamesFollowPatternChanges() throws Exception {
+        ParametersInterceptor pi = createParametersInterceptor();
+        assertTrue(pi.acceptableName("user.name"));
+        assertTrue(pi.acceptableName("user.name"));
+        assertFalse(pi.acceptableName("#session"));
+
+        pi.setExcludeParams("user\\..*");
+        assertFalse(pi.acceptableName("user.name"));
+        assertTrue(pi.acceptableName("address"));
+
+        pi.setAcceptParamNames("address");
+        assertTrue(pi.acceptableName("address"));
+        assertFalse(pi.acceptableName("city"));
+    }
+
+    public void testClassifiedNamesDependOnThePatternsOfEachInterceptor() throws Exception {
+        ParametersInterceptor excluding = createParametersInterceptor();
+        excluding.setExcludeParams("user\\..*");
+        ParametersInterceptor other = createParametersInterceptor();
+        other.setExcludeParams("address");
+
+        assertFalse(excluding.acceptableName("user.name"));
+        assertTrue(other.acceptableName("user.name"));
+        assertTrue(excluding.acceptableName("address"));
+        assertFalse(other.acceptableName("address"));
+    }
+
+    public void testLongNamesAreClassified() throws Exception {
+        ParametersInterceptor pi = createParametersInterceptor();
+        pi.setExcludeParams(".*\\.secret");
+        StringBuilder name = new StringBuilder("user");
+        for (int i = 0; i < 50; i++) {
+            name.append(".child");
+        }
+
+        assertTrue(pi.acceptableName(name.toString()));
+        assertFalse(pi.acceptableName(name + ".secret"));
+        assertFalse(pi.acceptableName("#" + name));
+    }
+
     public void testExcludedParametersAreIgnored() throws Exception {
         ParametersInterceptor pi = createParametersInterceptor();
         pi.setExcludeParams("dojo\\..*");
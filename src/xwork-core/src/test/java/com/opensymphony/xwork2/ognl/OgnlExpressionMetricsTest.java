@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for OgnlExpressionMetrics.
+ */
+public class OgnlExpressionMetricsTest extends TestCase {
+
+    private OgnlExpressionMetrics metrics = new OgnlExpressionMetrics();
+
+    public void testDisabledByDefault() {
+        assertSame(OgnlExpressionMetrics.Timer.NONE, metrics.start("name"));
+        assertEquals(0, metrics.getExpressionCount());
+    }
+
+    public void testSamplesTimings() {
+        metrics.setEnableMetrics("true");
+        metrics.setMetricsSampleRate("3");
+        for (int i = 0; i < 7; i++) {
+            metrics.start("name").stop(i == 0);
+        }
+
+        OgnlExpressionMetrics.ExpressionStats stats = metrics.getExpressionStats("name");
+        assertEquals(7, stats.getCount());
+        assertEquals(1, stats.getFailureCount());
+        assertEquals(3, stats.getTimedCount());
+        assertTrue(stats.getPercentileMillis(50) <= stats.getMaxMillis());
+        assertTrue(stats.getPercentileMillis(99) <= stats.getMaxMillis());
+    }
+
+    public void testSortsByCost() throws Exception {
+        metrics.setEnableMetrics("true");
+        metrics.setMetricsSampleRate("1");
+        metrics.start("fast").stop(false);
+        OgnlExpressionMetrics.Timer timer = metrics.start("slow");
+        Thread.sleep(5);
+        timer.stop(false);
+
+        List<OgnlExpressionMetrics.ExpressionStats> stats = metrics.getExpressionStats();
+        assertEquals("slow", stats.get(0).getExpression());
+        assertEquals("fast", stats.get(1).getExpression());
+        String[] report = metrics.costliestExpressions(1);
+        assertEquals(1, report.length);
+        assertTrue(report[0].startsWith("slow: count=1"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getExpressionCount());
+    }
+
+    public void testTracksAtMostMaxExpressions() {
+        metrics.setEnableMetrics("true");
+        metrics.setMetricsMaxExpressions("2");
+        for (int i = 0; i < 4; i++) {
+            metrics.start("expression" + i).stop(false);
+        }
+        metrics.start("expression0").stop(false);
+
+        assertEquals(2, metrics.getExpressionCount());
+        assertEquals(2, metrics.getUntrackedEvaluationCount());
+        assertEquals(2, metrics.getExpressionStats("expression0").getCount());
+    }
+
+    public void testRegistersInJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.opensymphony.xwork2:type=OgnlExpressionMetrics,name=" + ObjectName.quote("test"));
+
+        metrics.registerMBean("test");
+        try {
+            assertTrue(server.isRegistered(name));
+            server.setAttribute(name, new javax.management.Attribute("Enabled", Boolean.TRUE));
+            assertTrue(metrics.isEnabled());
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
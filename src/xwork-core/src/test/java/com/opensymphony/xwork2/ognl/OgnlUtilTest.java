@@ -105,6 +105,91 @@ public class OgnlUtilTest extends XWorkTestCase {
         assertNotSame(expr0, expr2);
     }
 
+    public void testExpressionCacheIsBounded() throws Exception {
+        OgnlUtil ognlUtil = new OgnlUtil();
+        container.inject(ognlUtil);
+        OgnlUtil.setEnableExpressionCache("true");
+        ognlUtil.setExpressionCacheMaxSize("10");
+
+        Object tree = ognlUtil.compile("foo.bar");
+        assertSame(tree, ognlUtil.compile("foo.bar"));
+        for (int i = 0; i < 50; i++) {
+            ognlUtil.compile("foo.bar" + i);
+        }
+
+        assertTrue(ognlUtil.getExpressionCache().size() <= 10);
+        assertTrue(ognlUtil.getExpressionCache().getEvictionCount() > 0);
+        assertSame(tree, ognlUtil.compile("foo.bar"));
+        assertEquals(2, ognlUtil.getExpressionCache().getHitCount());
+    }
+
+    public void testCompileHotExpressions() throws Exception {
+        OgnlUtil ognlUtil = new OgnlUtil();
+        container.inject(ognlUtil);
+        ognlUtil.setCompileExpressions("true");
+        ognlUtil.setCompileThreshold("2");
+
+        Foo foo = new Foo();
+        Foo child = new Foo();
+        child.setTitle("child");
+        foo.setChild(child);
+        ValueStack stack = ActionContext.getContext().getValueStack();
+        stack.push(foo);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("child", ognlUtil.getValue("child.title", stack.getContext(), stack.getRoot()));
+        }
+        assertTrue(ognlUtil.isCompiled("child.title", Foo.class));
+
+        // expressions other than chains of properties stay interpreted
+        for (int i = 0; i < 3; i++) {
+            assertEquals("child", ognlUtil.getValue("child.title.toString()", stack.getContext(), stack.getRoot()));
+        }
+        assertFalse(ognlUtil.isCompiled("child.title.toString()", Foo.class));
+
+        // a failing compiled expression falls back to the interpreter
+        foo.setChild(null);
+        try {
+            ognlUtil.getValue("child.title", stack.getContext(), stack.getRoot());
+            fail("the interpreter should have failed on the null child");
+        } catch (OgnlException e) {
+            // expected
+        }
+        assertFalse(ognlUtil.isCompiled("child.title", Foo.class));
+    }
+
+    public void testHotExpressionsBounded() throws Exception {
+        OgnlUtil ognlUtil = new OgnlUtil();
+        container.inject(ognlUtil);
+        ognlUtil.setCompileExpressions("true");
+        ognlUtil.setCompileThreshold("2");
+
+        Foo foo = new Foo();
+        Foo child = new Foo();
+        child.setTitle("child");
+        foo.setChild(child);
+        ValueStack stack = ActionContext.getContext().getValueStack();
+        stack.push(foo);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("child", ognlUtil.getValue("child.title", stack.getContext(), stack.getRoot()));
+        }
+        assertTrue(ognlUtil.isCompiled("child.title", Foo.class));
+
+        // expressions which can't be compiled aren't tracked
+        for (int i = 0; i < 100; i++) {
+            ognlUtil.getValue("child.title + " + i, stack.getContext(), stack.getRoot());
+        }
+        assertEquals(1, ognlUtil.getHotExpressionCount());
+
+        // many other properties evict the least used expressions, not the compiled one
+        for (int i = 0; i < 5000; i++) {
+            ognlUtil.getValue("unknown" + i, stack.getContext(), stack.getRoot());
+        }
+        assertTrue(ognlUtil.getHotExpressionCount() <= 4096);
+        assertTrue(ognlUtil.isCompiled("child.title", Foo.class));
+    }
+
     public void testCanSetDependentObjectArray() {
         EmailAction action = new EmailAction();
         Map<String, Object> context = Ognl.createDefaultContext(action);
@@ -216,6 +301,32 @@ public class OgnlUtilTest extends XWorkTestCase {
     }
 
 
+    public void testCopyConvertsDifferentTypes() {
+        TextNumber from = new TextNumber();
+        from.setNumber("42");
+        from.setTitle("converted");
+        Foo to = new Foo();
+
+        for (int i = 0; i < 2; i++) {
+            to.setNumber(0);
+            ognlUtil.copy(from, to, Ognl.createDefaultContext(from));
+            assertEquals(42, to.getNumber());
+            assertEquals("converted", to.getTitle());
+        }
+    }
+
+    public void testCopyIgnoresFailingAccessors() {
+        Dog from = new Dog();
+        from.setName("Rover");
+        from.setAge(3);
+        Dog to = new Dog();
+
+        ognlUtil.copy(from, to, Ognl.createDefaultContext(from));
+
+        assertEquals("Rover", to.getName());
+        assertEquals(3, to.getAge());
+    }
+
     public void testCopyUnevenObjects() {
         Foo foo = new Foo();
         Bar bar = new Bar();
@@ -645,6 +756,27 @@ public class OgnlUtilTest extends XWorkTestCase {
         }
     }
 
+    public static class TextNumber {
+        private String number;
+        private String title;
+
+        public String getNumber() {
+            return number;
+        }
+
+        public void setNumber(String number) {
+            this.number = number;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+    }
+
     static class TestObject {
         private Integer myIntegerProperty;
         private Long myLongProperty;
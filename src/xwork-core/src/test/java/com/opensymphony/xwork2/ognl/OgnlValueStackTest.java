@@ -61,6 +61,53 @@ public class OgnlValueStackTest extends XWorkTestCase {
         return stack;
     }
 
+    public void testFactoryStacksShareInjectedCollaborators() {
+        ValueStackFactory factory = container.getInstance(ValueStackFactory.class);
+        OgnlValueStack stack = (OgnlValueStack) factory.createValueStack();
+        OgnlValueStack other = (OgnlValueStack) factory.createValueStack();
+
+        assertSame(ognlUtil, stack.ognlUtil);
+        assertSame(container, stack.getContext().get(ActionContext.CONTAINER));
+        assertSame(container.getInstance(TextProvider.class, "system"), stack.peek());
+        assertNotSame(stack.getContext(), other.getContext());
+        assertNotSame(stack.securityMemberAccess, other.securityMemberAccess);
+
+        Dog dog = new Dog();
+        dog.setName("Rover");
+        stack.push(dog);
+        OgnlValueStack nested = (OgnlValueStack) factory.createValueStack(stack);
+        assertSame(ognlUtil, nested.ognlUtil);
+        assertEquals("Rover", nested.findValue("name"));
+        nested.pop();
+        assertSame(dog, stack.peek());
+    }
+
+    public void testExpressionMetricsRecordEvaluations() {
+        OgnlExpressionMetrics metrics = container.getInstance(OgnlExpressionMetrics.class);
+        metrics.setEnabled(true);
+        metrics.setSampleRate(1);
+        try {
+            OgnlValueStack stack = (OgnlValueStack) container.getInstance(ValueStackFactory.class).createValueStack();
+            Dog dog = new Dog();
+            dog.setName("Rover");
+            stack.push(dog);
+
+            assertEquals("Rover", stack.findValue("name"));
+            assertEquals("Rover", stack.findValue("name", String.class));
+            stack.setValue("age", "3");
+            assertNull(stack.findValue("name.noSuchMethod()"));
+
+            OgnlExpressionMetrics.ExpressionStats name = metrics.getExpressionStats("name");
+            assertEquals(2, name.getCount());
+            assertEquals(0, name.getFailureCount());
+            assertEquals(2, name.getTimedCount());
+            assertEquals(1, metrics.getExpressionStats("age").getCount());
+            assertEquals(1, metrics.getExpressionStats("name.noSuchMethod()").getFailureCount());
+        } finally {
+            metrics.setEnabled(false);
+        }
+    }
+
     public void testExpOverridesCanStackExpUp() throws Exception {
         Map expr1 = new LinkedHashMap();
         expr1.put("expr1", "'expr1value'");
@@ -914,6 +961,75 @@ public class OgnlValueStackTest extends XWorkTestCase {
         assertEquals(null, stack.findValue("address.country.name", String.class));
     }
 
+    public void testParametersBoundThroughPlannedAccessors() {
+        OgnlValueStack stack = createValueStack();
+        Owner owner = new Owner();
+        owner.setPet(new Pet());
+        stack.push(owner);
+
+        stack.setParameter("name", new String[]{"Jane"});
+        stack.setParameter("pet.name", new String[]{"Rover"});
+        stack.setParameter("pet.name", new String[]{"Rex"});
+        stack.setParameter("pet.nicknames", new String[]{"Rexy", "Boy"});
+
+        assertEquals("Jane", owner.getName());
+        assertEquals("Rex", owner.getPet().getName());
+        assertEquals(2, owner.getPet().getNicknames().length);
+        assertFalse(owner.isSetByOgnl());
+        assertFalse(owner.getPet().isSetByOgnl());
+    }
+
+    public void testParametersNeedingOgnlAreSetByOgnl() {
+        OgnlValueStack stack = createValueStack();
+        ReflectionContextState.setCreatingNullObjects(stack.getContext(), true);
+        Owner owner = new Owner();
+        stack.push(owner);
+
+        // converted, on a missing object, and on an object with conversion mappings
+        stack.setParameter("age", new String[]{"42"});
+        stack.setParameter("pet.name", new String[]{"Rover"});
+        stack.setParameter("favorite.title", new String[]{"Title"});
+        stack.setParameter("favorite.number", new String[]{"7"});
+
+        assertEquals(42, owner.getAge());
+        assertTrue(owner.isSetByOgnl());
+        assertEquals("Rover", owner.getPet().getName());
+        assertTrue(owner.getPet().isSetByOgnl());
+        assertEquals("Title", owner.getFavorite().getTitle());
+        assertEquals(7, owner.getFavorite().getNumber());
+    }
+
+    public void testParametersFollowTheStack() {
+        OgnlValueStack stack = createValueStack();
+        Owner owner = new Owner();
+        stack.push(owner);
+        Pet pet = new Pet();
+        stack.push(pet);
+
+        // the pet on top of the stack has a name, only the owner has an age
+        stack.setParameter("name", new String[]{"Rover"});
+        stack.setParameter("pet.name", new String[]{"Rex"});
+        assertEquals("Rover", pet.getName());
+        assertNull(owner.getName());
+        assertNull(owner.getPet());
+
+        Map<String, Object> map = new HashMap<String, Object>();
+        stack.push(map);
+        stack.setParameter("name", "Felix");
+        assertEquals("Felix", map.get("name"));
+        assertEquals("Rover", pet.getName());
+    }
+
+    public void testParametersRespectExcludedProperties() {
+        OgnlValueStack stack = createValueStack();
+        Owner owner = new Owner();
+        stack.push(owner);
+        stack.setExcludeProperties(java.util.Collections.singleton(java.util.regex.Pattern.compile("name")));
+
+        stack.setParameter("name", new String[]{"Jane"});
+        assertNull(owner.getName());
+    }
+
     class BadJavaBean {
         private int count;
         private int count2;
@@ -1024,4 +1140,87 @@ public class OgnlValueStackTest extends XWorkTestCase {
             this.displayName = displayName;
         }
     }
+
+    public static class Owner {
+        private String name;
+        private int age;
+        private Pet pet;
+        private Foo favorite;
+        private boolean setByOgnl;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+            setByOgnl |= isCalledByOgnl();
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+            setByOgnl |= isCalledByOgnl();
+        }
+
+        public Pet getPet() {
+            return pet;
+        }
+
+        public void setPet(Pet pet) {
+            this.pet = pet;
+        }
+
+        public Foo getFavorite() {
+            return favorite;
+        }
+
+        public void setFavorite(Foo favorite) {
+            this.favorite = favorite;
+        }
+
+        public boolean isSetByOgnl() {
+            return setByOgnl;
+        }
+    }
+
+    public static class Pet {
+        private String name;
+        private String[] nicknames;
+        private boolean setByOgnl;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+            setByOgnl |= isCalledByOgnl();
+        }
+
+        public String[] getNicknames() {
+            return nicknames;
+        }
+
+        public void setNicknames(String[] nicknames) {
+            this.nicknames = nicknames;
+            setByOgnl |= isCalledByOgnl();
+        }
+
+        public boolean isSetByOgnl() {
+            return setByOgnl;
+        }
+    }
+
+    static boolean isCalledByOgnl() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (element.getClassName().startsWith("ognl.")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.ognl.accessor;
+
+import com.opensymphony.xwork2.ActionContext;
+import com.opensymphony.xwork2.XWorkTestCase;
+import com.opensymphony.xwork2.util.Cat;
+import com.opensymphony.xwork2.util.Dog;
+import com.opensymphony.xwork2.util.ValueStack;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test case for CompoundRootAccessor.
+ */
+public class CompoundRootAccessorTest extends XWorkTestCase {
+
+    public void testResolvesSamePropertyOnSameStack() {
+        for (int i = 0; i < 2; i++) {
+            ValueStack vs = ActionContext.getContext().getValueStack();
+            vs.getRoot().clear();
+
+            Dog dog = new Dog();
+            dog.setAge(i);
+            Cat cat = new Cat();
+            cat.setName("cat" + i);
+            vs.push(dog);
+            vs.push(cat);
+
+            assertEquals("cat" + i, vs.findValue("name"));
+            assertEquals(new Integer(i), vs.findValue("age"));
+
+            vs.setValue("age", "10");
+            assertEquals(10, dog.getAge());
+            vs.setValue("name", "kitty");
+            assertEquals("kitty", cat.getName());
+            assertNull(dog.getName());
+        }
+    }
+
+    public void testMapKeysAreAlwaysLookedUp() {
+        ValueStack vs = ActionContext.getContext().getValueStack();
+        vs.getRoot().clear();
+
+        Dog dog = new Dog();
+        dog.setAge(3);
+        Map<String, Object> map = new HashMap<String, Object>();
+        vs.push(dog);
+        vs.push(map);
+
+        assertEquals(new Integer(3), vs.findValue("age"));
+        map.put("age", "old");
+        assertEquals("old", vs.findValue("age"));
+        map.remove("age");
+        assertEquals(new Integer(3), vs.findValue("age"));
+
+        // maps above the objects having the property receive the values
+        vs.setValue("age", "5");
+        assertEquals("5", map.get("age"));
+        assertEquals(3, dog.getAge());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for BoundedCache.
+ */
+public class BoundedCacheTest extends TestCase {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final BoundedCache.Loader<String, String, RuntimeException> loader = new BoundedCache.Loader<String, String, RuntimeException>() {
+        public String load(String key) {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }
+    };
+
+    public void testLoadsOnce() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(10);
+        assertEquals("A", cache.get("a", loader));
+        assertEquals("A", cache.get("a", loader));
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio(), 0.001);
+    }
+
+    public void testLoadsOnceWhenConcurrent() throws Exception {
+        final BoundedCache<String, String> cache = new BoundedCache<String, String>(10);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 100; j++) {
+                        cache.get("key" + (j % 5), loader);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        assertEquals(5, loads.get());
+        assertEquals(5, cache.getMissCount());
+        assertEquals(795, cache.getHitCount());
+    }
+
+    public void testEvictsLeastFrequentlyUsed() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(20);
+        for (int i = 0; i < 10; i++) {
+            cache.get("hot", loader);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.get("cold" + i, loader);
+        }
+
+        assertTrue(cache.size() <= 20);
+        assertTrue(cache.getEvictionCount() >= 80);
+        assertEquals("HOT", cache.getIfPresent("hot"));
+    }
+
+    public void testUnbounded() {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(0);
+        for (int i = 0; i < 100; i++) {
+            cache.get("key" + i, loader);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    public void testFailedLoadIsNotCached() throws Exception {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(10);
+        BoundedCache.Loader<String, String, Exception> failing = new BoundedCache.Loader<String, String, Exception>() {
+            public String load(String key) throws Exception {
+                loads.incrementAndGet();
+                throw new Exception("invalid " + key);
+            }
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("a", failing);
+                fail("the loader should have failed");
+            } catch (Exception e) {
+                assertEquals("invalid a", e.getMessage());
+            }
+        }
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+        assertEquals("A", cache.get("a", loader));
+    }
+}
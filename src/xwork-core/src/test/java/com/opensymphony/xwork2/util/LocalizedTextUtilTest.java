@@ -19,8 +19,14 @@ import com.mockobjects.dynamic.Mock;
 import com.opensymphony.xwork2.*;
 import com.opensymphony.xwork2.config.providers.XmlConfigurationProvider;
 import com.opensymphony.xwork2.test.ModelDrivenAction2;
+import com.opensymphony.xwork2.test.SimpleAction2;
 import com.opensymphony.xwork2.test.TestBean2;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
@@ -181,6 +187,58 @@ public class LocalizedTextUtilTest extends XWorkTestCase {
         assertEquals("It works!", message);
     }
 
+    public void testFindTextRemembersResolvedBundles() throws Exception {
+        ValueStack stack = ActionContext.getContext().getValueStack();
+        for (int i = 0; i < 2; i++) {
+            assertEquals("Title:", LocalizedTextUtil.findText(BarJunior.class, "title", Locale.US, null, null, stack));
+            assertEquals("It works!", LocalizedTextUtil.findText(SimpleAction2.class, "package.properties", Locale.US, null, null, stack));
+            assertEquals("Indexed!", LocalizedTextUtil.findText(SimpleAction2.class, "package.indexed[" + i + "]", Locale.US, null, null, stack));
+            assertEquals("missing", LocalizedTextUtil.findText(BarJunior.class, "notinbundle", Locale.US, "missing", null, stack));
+        }
+
+        LocalizedTextUtil.reset();
+        assertEquals("Title:", LocalizedTextUtil.findText(BarJunior.class, "title", Locale.US, null, null, stack));
+    }
+
+    public void testReloadsModifiedBundles() throws Exception {
+        File dir = new File(System.getProperty("java.io.tmpdir"), "LocalizedTextUtilTest-" + System.currentTimeMillis());
+        assertTrue(dir.mkdirs());
+        File file = new File(dir, "Reloaded.properties");
+        File localized = new File(dir, "Reloaded_en.properties");
+        writeProperties(file, "greeting=Hello");
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[]{dir.toURI().toURL()}, loader));
+        LocalizedTextUtil.setReloadBundles(true);
+        try {
+            assertEquals("Hello", LocalizedTextUtil.findResourceBundle("Reloaded", Locale.US).getString("greeting"));
+
+            writeProperties(file, "greeting=Hi");
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+            Thread.sleep(LocalizedTextUtil.BundleRevision.CHECK_INTERVAL + 100);
+            assertEquals("Hi", LocalizedTextUtil.findResourceBundle("Reloaded", Locale.US).getString("greeting"));
+
+            writeProperties(localized, "greeting=Hi there");
+            Thread.sleep(LocalizedTextUtil.BundleRevision.CHECK_INTERVAL + 100);
+            assertEquals("Hi there", LocalizedTextUtil.findResourceBundle("Reloaded", Locale.US).getString("greeting"));
+        } finally {
+            LocalizedTextUtil.setReloadBundles(false);
+            Thread.currentThread().setContextClassLoader(loader);
+            localized.delete();
+            file.delete();
+            dir.delete();
+        }
+    }
+
+    private void writeProperties(File file, String properties) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(properties);
+        } finally {
+            writer.close();
+        }
+    }
+
     public void testParameterizedDefaultMessage() throws Exception {
         String message = LocalizedTextUtil.findDefaultText(XWorkMessages.MISSING_ACTION_EXCEPTION, Locale.getDefault(), new String[]{"AddUser"});
         assertEquals("There is no Action mapped for action name AddUser.", message);
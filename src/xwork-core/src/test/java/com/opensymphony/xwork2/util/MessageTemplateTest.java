@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2006,2009 The Apache Software Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.util;
+
+import com.opensymphony.xwork2.ActionContext;
+import com.opensymphony.xwork2.XWorkTestCase;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Test case for MessageTemplate.
+ */
+public class MessageTemplateTest extends XWorkTestCase {
+
+    private static final String[] TEXTS = {
+            "", "plain text", "Hello {0}", "{0} and {1}, not {2}", "{1}{0}", "{00}", "it''s {0}",
+            "'quoted {0}' {0}", "'unterminated {0}", "closing } brace", "{0,number,#.##} items",
+            "{0,date,short}", "{0,choice,0#none|1#one|1<many}",
+            "Hello ${name}", "Hello %{name}, {0}", "${name}", "${missing}!", "${name}${name}",
+            "${quote} says {0}", "${brace} and {0}", "'${name}' {0}", "${name}'s {0}", "{${index}}",
+            "${name} costs ${", "%{name} and ${name}", "${empty}${name}", "${map['a']} {0}",
+            "%${percent} {0}", "${brace} %{name} {0}", "${quote} %{quote} {0}"
+    };
+
+    private static final Object[][] ARGS = {
+            null, new Object[0], new Object[]{"a"}, new Object[]{1234.5, null, new Date(0)},
+            new Object[]{new Date(0), 42L, new StringBuilder("sb")}
+    };
+
+    private ValueStack stack;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("name", "Bob");
+        values.put("quote", "O'Brien");
+        values.put("brace", "{1}");
+        values.put("index", "0");
+        values.put("empty", "");
+        values.put("percent", "{name}");
+        values.put("map", new HashMap<String, String>(values.size()) {{
+            put("a", "A");
+        }});
+        stack = ActionContext.getContext().getValueStack();
+        stack.push(values);
+    }
+
+    public void testFormatsAsMessageFormat() {
+        for (String text : TEXTS) {
+            for (Locale locale : new Locale[]{Locale.US, Locale.GERMANY}) {
+                for (Object[] args : ARGS) {
+                    assertEquals(text, messageFormat(text, locale, args), format(text, locale, false, args));
+                }
+            }
+        }
+    }
+
+    public void testEvaluatesExpressionsAsTextParseUtil() {
+        for (String text : TEXTS) {
+            for (Object[] args : ARGS) {
+                String pattern = TextParseUtil.translateVariables(text, stack);
+                assertEquals(text, messageFormat(pattern, Locale.US, args), format(text, Locale.US, true, args));
+            }
+        }
+    }
+
+    private String messageFormat(String pattern, Locale locale, Object[] args) {
+        try {
+            return new MessageFormat(pattern, locale).format(args);
+        } catch (IllegalArgumentException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private String format(String text, Locale locale, boolean withExpressions, Object[] args) {
+        try {
+            return MessageTemplate.compile(text, locale, withExpressions).format(stack, args);
+        } catch (IllegalArgumentException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    public void testEvaluatesExpressionsOnce() {
+        Counter counter = new Counter();
+        stack.push(counter);
+        String text = "${count}, ${quote} says {0} and %{count}";
+
+        assertEquals(messageFormat("1, O'Brien says {0} and 2", Locale.US, new Object[]{"a"}),
+                format(text, Locale.US, true, new Object[]{"a"}));
+        assertEquals(2, counter.count);
+    }
+
+    public static class Counter {
+        int count;
+
+        public int getCount() {
+            return ++count;
+        }
+    }
+
+    public void testInvalidPattern() {
+        try {
+            MessageTemplate.compile("{0", Locale.US, false);
+            fail("pattern should be invalid");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
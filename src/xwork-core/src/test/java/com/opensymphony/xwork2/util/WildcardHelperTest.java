@@ -53,4 +53,20 @@ public class WildcardHelperTest extends XWorkTestCase {
 		assertEquals("location/of".equals(matchedPatterns.get("2")), true);
 	}
 
+	public void testLiterals() {
+		WildcardHelper wild = new WildcardHelper();
+
+		int[] pattern = wild.compilePattern("path/*/another/**/file");
+		assertEquals("path/", wild.getLiteralPrefix(pattern));
+		assertEquals("/file", wild.getLiteralSuffix(pattern));
+
+		pattern = wild.compilePattern("*_*");
+		assertEquals("", wild.getLiteralPrefix(pattern));
+		assertEquals("", wild.getLiteralSuffix(pattern));
+
+		pattern = wild.compilePattern("wes\\*rules");
+		assertEquals("wes*rules", wild.getLiteralPrefix(pattern));
+		assertEquals("wes*rules", wild.getLiteralSuffix(pattern));
+	}
+
 }
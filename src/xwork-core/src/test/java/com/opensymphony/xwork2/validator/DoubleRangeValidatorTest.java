@@ -175,6 +175,32 @@ public class DoubleRangeValidatorTest extends XWorkTestCase {
         assertTrue(!context.hasErrors()); // should pass as null value passed in
     }
 
+    public void testParametersChangedBetweenValidations() throws Exception {
+        MyTestProduct prod = new MyTestProduct();
+        prod.setPrice(5.99);
+
+        ValueStack stack = ActionContext.getContext().getValueStack();
+        stack.push(prod);
+        val.setFieldName("price");
+
+        DelegatingValidatorContext context = new DelegatingValidatorContext(new ValidationAwareSupport());
+        val.setValidatorContext(context);
+        val.setMaxInclusive("9.95");
+        val.validate(prod);
+        assertFalse(context.hasErrors());
+
+        val.setMaxInclusive("5.5");
+        assertEquals("5.5", val.getMaxInclusive());
+        val.validate(prod);
+        assertTrue(context.hasErrors());
+
+        context = new DelegatingValidatorContext(new ValidationAwareSupport());
+        val.setValidatorContext(context);
+        val.setMaxInclusive("not a number");
+        val.validate(prod);
+        assertFalse(context.hasErrors());
+    }
+
     @Override
     protected void setUp() throws Exception {
         loadConfigurationProviders(new XmlConfigurationProvider("xwork-default.xml"),  new MockConfigurationProvider());
@@ -21,6 +21,7 @@ import com.opensymphony.xwork2.util.ValueStack;
 import com.opensymphony.xwork2.validator.validators.RegexFieldValidator;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Unit test for RegexFieldValidator.
@@ -171,6 +172,51 @@ public class RegexFieldValidatorTest extends XWorkTestCase {
         assertFalse(validator.getValidatorContext().hasFieldErrors());
     }
 
+    public void testCaseInsensitiveMatch() throws Exception {
+        MyTestPerson testPerson = new MyTestPerson();
+        testPerson.setUsername("sECRET");
+
+        RegexFieldValidator validator = new RegexFieldValidator();
+        validator.setExpression("^Sec.*");
+        validator.setCaseSensitive(false);
+        validator.setValidatorContext(new GenericValidatorContext(new Object()));
+        validator.setFieldName("username");
+        validator.setValueStack(ActionContext.getContext().getValueStack());
+        validator.validate(testPerson);
+        assertFalse(validator.getValidatorContext().hasFieldErrors());
+
+        validator.setCaseSensitive(true);
+        validator.validate(testPerson);
+        assertTrue(validator.getValidatorContext().hasFieldErrors());
+    }
+
+    public void testPatternCompiledOnce() throws Exception {
+        PatternValidator validator1 = new PatternValidator("^Sec.*");
+        PatternValidator validator2 = new PatternValidator("^Sec.*");
+        assertSame(validator1.getPattern(), validator2.getPattern());
+
+        validator2.setCaseSensitive(false);
+        assertNotSame(validator1.getPattern(), validator2.getPattern());
+        assertSame(validator2.getPattern(), new PatternValidator("^Sec.*", false).getPattern());
+        assertTrue(validator2.getPattern().matcher("SECRET").matches());
+    }
+
+    private static class PatternValidator extends RegexFieldValidator {
+        PatternValidator(String expression) {
+            setExpression(expression);
+        }
+
+        PatternValidator(String expression, boolean caseSensitive) {
+            this(expression);
+            setCaseSensitive(caseSensitive);
+        }
+
+        @Override
+        public Pattern getPattern() {
+            return super.getPattern();
+        }
+    }
+
     private class MyTestPerson {
         private String username;
         private int age;
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2007,2009 The Apache Software Foundation.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.opensymphony.xwork2.validator;
+
+import com.opensymphony.xwork2.validator.validators.FieldValidatorSupport;
+import com.opensymphony.xwork2.validator.validators.RequiredFieldValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for ValidatorPlan.
+ */
+public class ValidatorPlanTest extends TestCase {
+
+    private int built;
+
+    private ValidatorFactory validatorFactory = new ValidatorFactory() {
+        public Validator getValidator(ValidatorConfig cfg) {
+            built++;
+            FieldValidatorSupport validator = "stateful".equals(cfg.getType()) ? new StatefulFieldValidator() : new RequiredFieldValidator();
+            validator.setFieldName(cfg.getParams().get("fieldName"));
+            validator.setMessageKey(cfg.getMessageKey());
+            return validator;
+        }
+
+        public void registerValidator(String name, String className) {
+        }
+
+        public String lookupRegisteredValidatorType(String name) {
+            return name;
+        }
+    };
+
+    public void testCopiesValidatorsBuiltOnce() {
+        List<ValidatorConfig> configs = new ArrayList<ValidatorConfig>();
+        configs.add(new ValidatorConfig.Builder("required").addParam("fieldName", "name").messageKey("name.required").build());
+        ValidatorPlan plan = new ValidatorPlan(validatorFactory, configs, false);
+
+        List<Validator> first = plan.getValidators(null, null);
+        first.get(0).setValidatorContext(new GenericValidatorContext(new Object()));
+        List<Validator> second = plan.getValidators(null, null);
+
+        assertEquals(1, built);
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("name", ((FieldValidator) second.get(0)).getFieldName());
+        assertEquals("name.required", second.get(0).getMessageKey());
+        assertEquals("required", second.get(0).getValidatorType());
+        assertNull(second.get(0).getValidatorContext());
+    }
+
+    public void testBuildsStatefulValidatorsEachTime() {
+        List<ValidatorConfig> configs = new ArrayList<ValidatorConfig>();
+        configs.add(new ValidatorConfig.Builder("stateful").addParam("fieldName", "name").build());
+        ValidatorPlan plan = new ValidatorPlan(validatorFactory, configs, false);
+
+        plan.getValidators(null, null);
+        plan.getValidators(null, null);
+        assertEquals(2, built);
+    }
+
+    public void testSelectsValidatorsOfMethod() {
+        List<ValidatorConfig> configs = new ArrayList<ValidatorConfig>();
+        configs.add(new ValidatorConfig.Builder("required").addParam("methodName", "save").build());
+        configs.add(new ValidatorConfig.Builder("required").addParam("methodName", "delete").build());
+        ValidatorPlan plan = new ValidatorPlan(validatorFactory, configs, true);
+
+        assertEquals(1, plan.getValidators("save", null).size());
+        assertEquals(2, plan.getValidators(null, null).size());
+        assertEquals(0, plan.getValidators("input", null).size());
+    }
+
+    public static class StatefulFieldValidator extends FieldValidatorSupport implements StatefulValidator {
+        public void validate(Object object) throws ValidationException {
+        }
+    }
+}